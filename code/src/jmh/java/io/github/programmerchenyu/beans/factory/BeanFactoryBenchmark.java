@@ -0,0 +1,71 @@
+package io.github.programmerchenyu.beans.factory;
+
+import io.github.programmerchenyu.benchmark.fixture.BenchmarkConfiguration;
+import io.github.programmerchenyu.benchmark.fixture.Repository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容器热路径：单例命中、三种注入方式的原型创建、接口到实现类的解析。
+ * 与 BeanFactory 同包，以便直接调用包级可见的原型创建入口
+ * @author 爱吃小鱼的橙子
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanFactoryBenchmark {
+
+    private BeanFactory beanFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanFactory = new BeanFactory(new Class<?>[]{BenchmarkConfiguration.class});
+        // 预先创建单例，原型基准只衡量原型本身的创建与注入
+        beanFactory.getBean("singletonService");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        beanFactory.destroySingletons();
+    }
+
+    @Benchmark
+    public Object singletonGetBean() {
+        return beanFactory.getBean("singletonService");
+    }
+
+    @Benchmark
+    public Object prototypeFieldInjection() {
+        return beanFactory.getBean("fieldInjectedBean", false);
+    }
+
+    @Benchmark
+    public Object prototypeMethodInjection() {
+        return beanFactory.getBean("methodInjectedBean", false);
+    }
+
+    @Benchmark
+    public Object prototypeConstructorInjection() {
+        return beanFactory.getBean("constructorInjectedBean", false);
+    }
+
+    @Benchmark
+    public String interfaceResolution() {
+        return beanFactory.transformInterface2ImplKey(Repository.class);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.programmerchenyu.benchmark;
+
+import io.github.programmerchenyu.base.ClassScanner;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合成包上的 @ComponentScan。
+ * mode：index 读取编译期索引；bytecode 回退扫描并用字节码过滤；load 回退扫描并加载全部类
+ * @author 爱吃小鱼的橙子
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentScanBenchmark {
+
+    // 固定种子，保证每次运行扫描的是同一组类
+    private static final long SEED = 20240101L;
+
+    @Param({"1000", "10000"})
+    public int classCount;
+
+    @Param({"index", "bytecode", "load"})
+    public String mode;
+
+    private String basePackage;
+
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty(TestNexusProperties.SCAN_INDEX, String.valueOf("index".equals(mode)));
+        System.setProperty(TestNexusProperties.SCAN_BYTECODE_FILTER, String.valueOf(!"load".equals(mode)));
+        SyntheticComponentGenerator generator = new SyntheticComponentGenerator(classCount, SEED);
+        basePackage = generator.getBasePackage();
+        classLoader = generator.newClassLoader();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        classLoader.close();
+    }
+
+    @Benchmark
+    public List<Class<?>> scan() {
+        // 扫描使用线程上下文类加载器，JMH 不保证 setup 与测量在同一线程
+        Thread.currentThread().setContextClassLoader(classLoader);
+        return ClassScanner.scanComponentClasses(basePackage);
+    }
+}
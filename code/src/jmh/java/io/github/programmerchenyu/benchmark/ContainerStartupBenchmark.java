@@ -0,0 +1,83 @@
+package io.github.programmerchenyu.benchmark;
+
+import io.github.programmerchenyu.beans.factory.BeanFactory;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合成组件图上的冷启动：每次调用使用新的类加载器，组件类、元数据和访问器都需要重新加载和解析，
+ * 与测试进程中第一次启动容器的情形一致。
+ * reflection 走反射解析，aot 使用编译期生成的装配代码并补扫描，aot-noscan 只使用生成的装配代码
+ * @author 爱吃小鱼的橙子
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ContainerStartupBenchmark {
+
+    private static final long SEED = 20240101L;
+
+    @Param({"1000", "10000"})
+    public int classCount;
+
+    @Param({"reflection", "aot", "aot-noscan"})
+    public String mode;
+
+    private SyntheticComponentGenerator generator;
+
+    private URLClassLoader classLoader;
+
+    private Class<?>[] configClasses;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        System.setProperty(TestNexusProperties.AOT, String.valueOf(!"reflection".equals(mode)));
+        System.setProperty(TestNexusProperties.AOT_SCAN, String.valueOf(!"aot-noscan".equals(mode)));
+        generator = new SyntheticComponentGenerator(classCount, SEED);
+        generator.generate();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws ClassNotFoundException {
+        classLoader = generator.newClassLoader();
+        configClasses = new Class<?>[]{Class.forName(generator.getConfigurationClassName(), false, classLoader)};
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        classLoader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        System.clearProperty(TestNexusProperties.AOT);
+        System.clearProperty(TestNexusProperties.AOT_SCAN);
+    }
+
+    @Benchmark
+    public BeanFactory startContainer() {
+        Thread.currentThread().setContextClassLoader(classLoader);
+        BeanFactory beanFactory = new BeanFactory(configClasses);
+        beanFactory.preInstantiateSingletons();
+        return beanFactory;
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.programmerchenyu.benchmark;
+
+import io.github.programmerchenyu.beans.factory.TestNexusObjectFactory;
+import io.github.programmerchenyu.benchmark.fixture.BenchmarkTestClass;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.ITestContext;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整的测试实例创建流程：每次操作模拟一个新的 &lt;test&gt; 上下文，创建对象工厂、实例化测试类并释放。
+ * shared=true 时由常驻的上下文保持容器存活，衡量复用已有容器的开销；shared=false 时每次都重新构建容器
+ * @author 爱吃小鱼的橙子
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectFactoryBenchmark {
+
+    @Param({"true", "false"})
+    public boolean shared;
+
+    private Constructor<?> constructor;
+
+    private TestNexusObjectFactory anchor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        System.setProperty(TestNexusProperties.SHARED_CONTEXT, String.valueOf(shared));
+        constructor = BenchmarkTestClass.class.getConstructor();
+        if (shared) {
+            anchor = new TestNexusObjectFactory(newTestContext());
+            anchor.newInstance(constructor);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (anchor != null) {
+            anchor.destroyTestNexusObjectFactory();
+        }
+    }
+
+    @Benchmark
+    public Object newInstance() {
+        TestNexusObjectFactory objectFactory = new TestNexusObjectFactory(newTestContext());
+        Object testInstance = objectFactory.newInstance(constructor);
+        objectFactory.destroyTestNexusObjectFactory();
+        return testInstance;
+    }
+
+    /**
+     * 对象工厂只使用上下文的属性读写和当前 <test> 块，其余方法不会被调用
+     */
+    private static ITestContext newTestContext() {
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        return (ITestContext) Proxy.newProxyInstance(ITestContext.class.getClassLoader(), new Class<?>[]{ITestContext.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAttribute":
+                            return attributes.get((String) args[0]);
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        case "removeAttribute":
+                            return attributes.remove((String) args[0]);
+                        case "getAttributeNames":
+                            return attributes.keySet();
+                        case "getCurrentXmlTest":
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "benchmark-context";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.programmerchenyu.benchmark;
+
+import io.github.programmerchenyu.processor.ComponentIndexProcessor;
+import io.github.programmerchenyu.processor.WiringGenerationProcessor;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 生成合成组件图：按固定种子生成源码并编译到本地目录，同样的类数量和种子总是得到同样的类与依赖关系，
+ * 不依赖网络或外部工程。每 100 个类一个子包，每五个类中有一个不是组件；
+ * 组件最多依赖 3 个编号更小的组件，因此依赖图无环。编译时生成组件索引和配置类的装配代码，
+ * 基准可以通过系统属性分别衡量读取索引、字节码过滤、直接加载三种扫描方式以及是否使用生成的装配代码
+ * @author 爱吃小鱼的橙子
+ */
+public class SyntheticComponentGenerator {
+
+    // 生成目录，默认 target/jmh-synthetic
+    public static final String OUTPUT_DIR = "benchmark.synthetic.dir";
+
+    public static final String CONFIGURATION_CLASS = "SyntheticConfiguration";
+
+    private static final int CLASSES_PER_PACKAGE = 100;
+
+    private static final int PLAIN_CLASS_RATIO = 5;
+
+    private static final int MAX_DEPENDENCIES = 3;
+
+    // 编译完成的标记，存在时直接复用已生成的类
+    private static final String COMPLETE_MARKER = ".complete-v3";
+
+    private final int classCount;
+
+    private final long seed;
+
+    private final String basePackage;
+
+    public SyntheticComponentGenerator(int classCount, long seed) {
+        this.classCount = classCount;
+        this.seed = seed;
+        this.basePackage = "synthetic.c" + classCount + "s" + seed;
+    }
+
+    public String getBasePackage() {
+        return basePackage;
+    }
+
+    public String getConfigurationClassName() {
+        return basePackage + "." + CONFIGURATION_CLASS;
+    }
+
+    /**
+     * 加载生成的类，父加载器为基准测试自身的类加载器，框架注解因此是同一份
+     */
+    public URLClassLoader newClassLoader() {
+        try {
+            return new URLClassLoader(new URL[]{generate().toUri().toURL()}, SyntheticComponentGenerator.class.getClassLoader());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 生成并编译合成组件，返回 class 输出目录
+     */
+    public synchronized Path generate() {
+        Path root = Paths.get(System.getProperty(OUTPUT_DIR, "target/jmh-synthetic"), basePackage.replace('.', '-')).toAbsolutePath();
+        Path classesDir = root.resolve("classes");
+        if (Files.exists(root.resolve(COMPLETE_MARKER))) {
+            return classesDir;
+        }
+        try {
+            Path sourcesDir = root.resolve("sources");
+            List<Path> sources = writeSources(sourcesDir);
+            Files.createDirectories(classesDir);
+            compile(sources, classesDir);
+            Files.createFile(root.resolve(COMPLETE_MARKER));
+            return classesDir;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate synthetic components in " + root, e);
+        }
+    }
+
+    private List<Path> writeSources(Path sourcesDir) throws IOException {
+        Random random = new Random(seed);
+        List<Path> sources = new ArrayList<>();
+        List<Integer> components = new ArrayList<>();
+        for (int i = 0; i < classCount; i++) {
+            String packageName = packageOf(i);
+            StringBuilder source = new StringBuilder();
+            source.append("package ").append(packageName).append(";\n\n");
+            if (i % PLAIN_CLASS_RATIO == PLAIN_CLASS_RATIO - 1) {
+                source.append("public class ").append(classNameOf(i)).append(" {\n}\n");
+            } else {
+                source.append("@io.github.programmerchenyu.beans.factory.annotation.Component\n");
+                source.append("public class ").append(classNameOf(i)).append(" {\n");
+                int dependencies = components.isEmpty() ? 0 : random.nextInt(MAX_DEPENDENCIES + 1);
+                for (int d = 0; d < dependencies; d++) {
+                    int dependency = components.get(random.nextInt(components.size()));
+                    source.append("    @io.github.programmerchenyu.beans.factory.annotation.Autowired\n");
+                    source.append("    private ").append(packageOf(dependency)).append('.').append(classNameOf(dependency))
+                            .append(" dependency").append(d).append(";\n");
+                }
+                source.append("}\n");
+                components.add(i);
+            }
+            sources.add(write(sourcesDir, packageName, classNameOf(i), source.toString()));
+        }
+        String configuration = "package " + basePackage + ";\n\n"
+                + "@io.github.programmerchenyu.beans.factory.annotation.Configuration\n"
+                + "@io.github.programmerchenyu.beans.factory.annotation.ComponentScan(basePackages = {\"" + basePackage + "\"})\n"
+                + "public class " + CONFIGURATION_CLASS + " {\n}\n";
+        sources.add(write(sourcesDir, basePackage, CONFIGURATION_CLASS, configuration));
+        return sources;
+    }
+
+    private Path write(Path sourcesDir, String packageName, String className, String source) throws IOException {
+        Path file = sourcesDir.resolve(packageName.replace('.', '/')).resolve(className + ".java");
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private void compile(List<Path> sources, Path classesDir) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating synthetic components requires a JDK");
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                    "-d", classesDir.toString(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-processor", ComponentIndexProcessor.class.getName() + "," + WiringGenerationProcessor.class.getName(),
+                    "-implicit:none", "-nowarn");
+            Boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources)).call();
+            if (!Boolean.TRUE.equals(success)) {
+                StringBuilder message = new StringBuilder("Failed to compile synthetic components:");
+                for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                    message.append('\n').append(diagnostic);
+                }
+                throw new IllegalStateException(message.toString());
+            }
+        }
+    }
+
+    private String packageOf(int index) {
+        return String.format("%s.p%03d", basePackage, index / CLASSES_PER_PACKAGE);
+    }
+
+    private static String classNameOf(int index) {
+        return String.format("C%05d", index);
+    }
+}
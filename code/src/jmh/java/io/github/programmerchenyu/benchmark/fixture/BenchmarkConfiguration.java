@@ -0,0 +1,13 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+import io.github.programmerchenyu.beans.factory.annotation.ComponentScan;
+import io.github.programmerchenyu.beans.factory.annotation.Configuration;
+
+/**
+ * 基准测试使用的固定组件集合
+ * @author 爱吃小鱼的橙子
+ */
+@Configuration
+@ComponentScan(basePackages = {"io.github.programmerchenyu.benchmark.fixture"})
+public class BenchmarkConfiguration {
+}
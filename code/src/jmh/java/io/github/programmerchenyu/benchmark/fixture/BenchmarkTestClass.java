@@ -0,0 +1,27 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+import io.github.programmerchenyu.base.ITestNexusContext;
+import io.github.programmerchenyu.base.annotion.TestNexus;
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+
+/**
+ * 模拟测试类，由 TestNexusObjectFactory 创建
+ * @author 爱吃小鱼的橙子
+ */
+@TestNexus(classes = BenchmarkConfiguration.class)
+public class BenchmarkTestClass implements ITestNexusContext {
+
+    @Autowired
+    private SingletonService service;
+
+    @Autowired(singleton = false)
+    private FieldInjectedBean fieldInjectedBean;
+
+    public SingletonService getService() {
+        return service;
+    }
+
+    public FieldInjectedBean getFieldInjectedBean() {
+        return fieldInjectedBean;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+import io.github.programmerchenyu.beans.factory.annotation.Component;
+
+/**
+ * 构造器注入
+ * @author 爱吃小鱼的橙子
+ */
+@Component
+public class ConstructorInjectedBean {
+
+    private final SingletonService service;
+
+    @Autowired
+    public ConstructorInjectedBean(SingletonService service) {
+        this.service = service;
+    }
+
+    public SingletonService getService() {
+        return service;
+    }
+}
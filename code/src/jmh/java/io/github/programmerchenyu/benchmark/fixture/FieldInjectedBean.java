@@ -0,0 +1,26 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+import io.github.programmerchenyu.beans.factory.annotation.Component;
+
+/**
+ * 字段注入，其中一个依赖按接口类型解析
+ * @author 爱吃小鱼的橙子
+ */
+@Component
+public class FieldInjectedBean {
+
+    @Autowired
+    private SingletonService service;
+
+    @Autowired
+    private Repository repository;
+
+    public SingletonService getService() {
+        return service;
+    }
+
+    public Repository getRepository() {
+        return repository;
+    }
+}
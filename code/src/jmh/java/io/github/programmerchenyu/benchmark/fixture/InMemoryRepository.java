@@ -0,0 +1,15 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+import io.github.programmerchenyu.beans.factory.annotation.Component;
+
+/**
+ * @author 爱吃小鱼的橙子
+ */
+@Component
+public class InMemoryRepository implements Repository {
+
+    @Override
+    public String find(int id) {
+        return "item-" + id;
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+import io.github.programmerchenyu.beans.factory.annotation.Component;
+
+/**
+ * 方法注入
+ * @author 爱吃小鱼的橙子
+ */
+@Component
+public class MethodInjectedBean {
+
+    private SingletonService service;
+
+    private Repository repository;
+
+    @Autowired
+    public void setDependencies(SingletonService service, Repository repository) {
+        this.service = service;
+        this.repository = repository;
+    }
+
+    public SingletonService getService() {
+        return service;
+    }
+
+    public Repository getRepository() {
+        return repository;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+/**
+ * 只有一个实现类的接口，按类型注入时需要解析到实现类
+ * @author 爱吃小鱼的橙子
+ */
+public interface Repository {
+
+    String find(int id);
+}
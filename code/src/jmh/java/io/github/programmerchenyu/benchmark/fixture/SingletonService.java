@@ -0,0 +1,18 @@
+package io.github.programmerchenyu.benchmark.fixture;
+
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+import io.github.programmerchenyu.beans.factory.annotation.Component;
+
+/**
+ * @author 爱吃小鱼的橙子
+ */
+@Component
+public class SingletonService {
+
+    @Autowired
+    private Repository repository;
+
+    public Repository getRepository() {
+        return repository;
+    }
+}
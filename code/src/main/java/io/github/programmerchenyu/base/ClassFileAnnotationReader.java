@@ -0,0 +1,190 @@
+package io.github.programmerchenyu.base;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * 直接解析 .class 字节的常量池与类级 RuntimeVisibleAnnotations 属性，
+ * 在不加载类的前提下判断类上是否标注了指定注解
+ * @author 爱吃小鱼的橙子
+ */
+public class ClassFileAnnotationReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[][] descriptors;
+
+    /**
+     * @param annotationDescriptors 注解的类型描述符，如 Lcom/example/Foo;
+     */
+    public ClassFileAnnotationReader(Collection<String> annotationDescriptors) {
+        this.descriptors = new byte[annotationDescriptors.size()][];
+        int i = 0;
+        for (String descriptor : annotationDescriptors) {
+            descriptors[i++] = descriptor.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public static String descriptorOf(Class<?> annotationType) {
+        return "L" + annotationType.getName().replace('.', '/') + ";";
+    }
+
+    /**
+     * 判断类文件上是否直接标注了任意一个目标注解，无法解析的文件返回 false
+     */
+    public boolean hasAnyAnnotation(ByteBuffer classFile) {
+        try {
+            return parse(classFile);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // 截断或损坏的类文件
+            return false;
+        }
+    }
+
+    private boolean parse(ByteBuffer buf) {
+        if (buf.getInt() != MAGIC) {
+            return false;
+        }
+        // minor_version、major_version
+        buf.position(buf.position() + 4);
+        int constantPoolCount = buf.getShort() & 0xFFFF;
+        // 常量池中命中目标注解描述符的下标
+        boolean[] targetIndexes = new boolean[constantPoolCount];
+        boolean anyTarget = false;
+        int annotationsAttributeIndex = -1;
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = buf.get() & 0xFF;
+            switch (tag) {
+                case 1:
+                    int length = buf.getShort() & 0xFFFF;
+                    int start = buf.position();
+                    if (matchesAny(buf, start, length)) {
+                        targetIndexes[i] = true;
+                        anyTarget = true;
+                    } else if (matches(buf, start, length, RUNTIME_VISIBLE_ANNOTATIONS)) {
+                        annotationsAttributeIndex = i;
+                    }
+                    buf.position(start + length);
+                    break;
+                case 7: case 8: case 16: case 19: case 20:
+                    buf.position(buf.position() + 2);
+                    break;
+                case 15:
+                    buf.position(buf.position() + 3);
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    buf.position(buf.position() + 4);
+                    break;
+                case 5: case 6:
+                    // long、double 占两个常量池槽位
+                    buf.position(buf.position() + 8);
+                    i++;
+                    break;
+                default:
+                    return false;
+            }
+        }
+        // 常量池里连描述符都没有，直接判定未标注
+        if (!anyTarget || annotationsAttributeIndex < 0) {
+            return false;
+        }
+        // access_flags、this_class、super_class
+        buf.position(buf.position() + 6);
+        int interfacesCount = buf.getShort() & 0xFFFF;
+        buf.position(buf.position() + interfacesCount * 2);
+        skipMembers(buf);
+        skipMembers(buf);
+        int attributesCount = buf.getShort() & 0xFFFF;
+        for (int i = 0; i < attributesCount; i++) {
+            int nameIndex = buf.getShort() & 0xFFFF;
+            int length = buf.getInt();
+            if (nameIndex != annotationsAttributeIndex) {
+                buf.position(buf.position() + length);
+                continue;
+            }
+            int annotationsCount = buf.getShort() & 0xFFFF;
+            for (int j = 0; j < annotationsCount; j++) {
+                int typeIndex = buf.getShort() & 0xFFFF;
+                if (typeIndex < constantPoolCount && targetIndexes[typeIndex]) {
+                    return true;
+                }
+                skipElementValuePairs(buf);
+            }
+            return false;
+        }
+        return false;
+    }
+
+    private boolean matchesAny(ByteBuffer buf, int start, int length) {
+        for (byte[] descriptor : descriptors) {
+            if (matches(buf, start, length, descriptor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(ByteBuffer buf, int start, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buf.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 跳过 fields 或 methods 表
+     */
+    private static void skipMembers(ByteBuffer buf) {
+        int count = buf.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            // access_flags、name_index、descriptor_index
+            buf.position(buf.position() + 6);
+            int attributesCount = buf.getShort() & 0xFFFF;
+            for (int j = 0; j < attributesCount; j++) {
+                buf.position(buf.position() + 2);
+                int length = buf.getInt();
+                buf.position(buf.position() + length);
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(ByteBuffer buf) {
+        int pairsCount = buf.getShort() & 0xFFFF;
+        for (int i = 0; i < pairsCount; i++) {
+            buf.position(buf.position() + 2);
+            skipElementValue(buf);
+        }
+    }
+
+    private static void skipElementValue(ByteBuffer buf) {
+        int tag = buf.get() & 0xFF;
+        switch (tag) {
+            case 'e':
+                buf.position(buf.position() + 4);
+                break;
+            case '@':
+                buf.position(buf.position() + 2);
+                skipElementValuePairs(buf);
+                break;
+            case '[':
+                int valuesCount = buf.getShort() & 0xFFFF;
+                for (int i = 0; i < valuesCount; i++) {
+                    skipElementValue(buf);
+                }
+                break;
+            default:
+                // 基本类型、String、Class 都只引用一个常量池下标
+                buf.position(buf.position() + 2);
+                break;
+        }
+    }
+}
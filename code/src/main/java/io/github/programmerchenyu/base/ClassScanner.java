@@ -1,79 +1,302 @@
 package io.github.programmerchenyu.base;
 
 import io.github.programmerchenyu.beans.exception.BeanCreationException;
+import io.github.programmerchenyu.beans.factory.annotation.Component;
+import io.github.programmerchenyu.beans.factory.annotation.Configuration;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+import io.github.programmerchenyu.metrics.ContainerPhase;
+import io.github.programmerchenyu.metrics.TestNexusMetrics;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 /**
+ * 类扫描器：目录子树与 jar 条目拆分到 fork-join 线程池中并行加载，
+ * 加载时不触发类的静态初始化，只有真正被实例化的组件才会执行 static 代码块
  * @author 爱吃小鱼的橙子
  */
 public class ClassScanner {
+
+    // 单个任务最多加载的类数量，超过后继续拆分
+    private static final int LOAD_THRESHOLD = 64;
+
+    // 组件扫描只关心直接标注了 @Component、@Configuration 的类
+    private static final ClassFileAnnotationReader COMPONENT_READER = new ClassFileAnnotationReader(Arrays.asList(
+            ClassFileAnnotationReader.descriptorOf(Component.class),
+            ClassFileAnnotationReader.descriptorOf(Configuration.class)));
+
     public static List<Class<?>> scanClasses(String basePackage) {
-        List<Class<?>> classes = new LinkedList<>();
+        long start = TestNexusMetrics.beginContainerPhase();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Queue<Class<?>> classes = new ConcurrentLinkedQueue<>();
         String packageName = basePackage;
         String packagePath = packageName.replace('.', '/');
         Enumeration<URL> resources;
         try {
-            resources = Thread.currentThread().getContextClassLoader().getResources(packagePath);
+            resources = classLoader.getResources(packagePath);
+            while (resources.hasMoreElements()) {
+                scanResource(packageName, packagePath, resources.nextElement(), classLoader, null, classes);
+            }
+        } catch (IOException e) {
+            throw new BeanCreationException("Error scanning package " + basePackage, e);
+        }
+        TestNexusMetrics.endContainerPhase(ContainerPhase.CLASS_SCAN, basePackage, start);
+        return sorted(classes);
+    }
+
+    /**
+     * 扫描组件候选类：带有编译期组件索引的 classpath 根目录直接读取索引，其余根目录回退到类扫描。
+     * 回退扫描时默认先解析类文件字节，只有直接标注了 @Component、@Configuration 的类才会交给类加载器
+     * @param basePackage 扫描的包
+     * @return 候选类，仍需调用方判断是否标注了 @Component
+     */
+    public static List<Class<?>> scanComponentClasses(String basePackage) {
+        long start = TestNexusMetrics.beginContainerPhase();
+        boolean useIndex = Boolean.parseBoolean(System.getProperty(TestNexusProperties.SCAN_INDEX, "true"));
+        ClassFileAnnotationReader reader = Boolean.parseBoolean(System.getProperty(TestNexusProperties.SCAN_BYTECODE_FILTER, "true")) ? COMPONENT_READER : null;
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Queue<Class<?>> classes = new ConcurrentLinkedQueue<>();
+        String packagePath = basePackage.replace('.', '/');
+        try {
+            Enumeration<URL> resources = classLoader.getResources(packagePath);
             while (resources.hasMoreElements()) {
                 URL resource = resources.nextElement();
-                String protocol = resource.getProtocol();
-                if ("file".equals(protocol)) {
-                    String filePath = URLDecoder.decode(resource.getFile(), "UTF-8");
-                    findAndAddClassesInPackageByFile(packageName, filePath, classes);
-                } else if ("jar".equals(protocol)) {
-                    JarURLConnection jarURLConnection = (JarURLConnection) resource.openConnection();
-                    try (JarFile jarFile = jarURLConnection.getJarFile()) {
-                        Enumeration<JarEntry> entries = jarFile.entries();
-                        while (entries.hasMoreElements()) {
-                            JarEntry entry = entries.nextElement();
-                            String entryName = entry.getName();
-                            if (entryName.startsWith(packagePath) && entryName.endsWith(".class") && !entry.isDirectory()) {
-                                String className = entryName.substring(0, entryName.lastIndexOf('.')).replace('/', '.');
-                                try {
-                                    classes.add(Class.forName(className));
-                                } catch (ClassNotFoundException e) {
-                                    throw new BeanCreationException("Class not found during scan", e);
-                                }
-                            }
-                        }
+                List<String> index = useIndex ? ComponentIndex.read(resource, packagePath) : null;
+                if (index == null && reader != null && ScanCache.isEnabled()) {
+                    scanResourceCached(basePackage, packagePath, resource, classLoader, classes);
+                } else if (index == null) {
+                    scanResource(basePackage, packagePath, resource, classLoader, reader, classes);
+                } else {
+                    List<ClassCandidate> candidates = new ArrayList<>();
+                    for (String className : ComponentIndex.filter(index, basePackage)) {
+                        candidates.add(new ClassCandidate(className, null, null, null));
                     }
+                    ForkJoinPool.commonPool().invoke(new ClassLoadTask(candidates, 0, candidates.size(), classLoader, null, classes));
                 }
             }
         } catch (IOException e) {
             throw new BeanCreationException("Error scanning package " + basePackage, e);
         }
-        return classes;
+        if (ScanCache.isEnabled()) {
+            ScanCache.flush();
+        }
+        TestNexusMetrics.endContainerPhase(ContainerPhase.CLASS_SCAN, basePackage, start);
+        return sorted(classes);
     }
 
-    private static void findAndAddClassesInPackageByFile(String packageName, String packagePath, List<Class<?>> classes) {
-        File directory = new File(packagePath);
-        if (!directory.exists() || !directory.isDirectory()) {
-            return;
+    /**
+     * 根目录指纹未变化时直接加载上次扫描出的组件类，否则重新扫描并更新缓存
+     */
+    private static void scanResourceCached(String packageName, String packagePath, URL resource, ClassLoader classLoader,
+                                           Queue<Class<?>> classes) throws IOException {
+        File location;
+        if ("jar".equals(resource.getProtocol())) {
+            URL jarFileURL = ((JarURLConnection) resource.openConnection()).getJarFileURL();
+            location = new File(URLDecoder.decode(jarFileURL.getFile(), "UTF-8"));
+        } else {
+            location = new File(URLDecoder.decode(resource.getFile(), "UTF-8"));
         }
-        File[] files = directory.listFiles(file -> (file.isFile() && file.getName().endsWith(".class")) || file.isDirectory());
-        if (files == null) {
+        String locationKey = location.getAbsolutePath();
+        ScanCache.Entry cached = ScanCache.get(packageName, locationKey);
+        if (cached != null && cached.getFingerprint().equals(ScanCache.fingerprint(location, cached.getDirectories()))) {
+            List<ClassCandidate> candidates = new ArrayList<>();
+            for (String className : cached.getClassNames()) {
+                candidates.add(new ClassCandidate(className, null, null, null));
+            }
+            ForkJoinPool.commonPool().invoke(new ClassLoadTask(candidates, 0, candidates.size(), classLoader, null, classes));
             return;
         }
-        for (File file : files) {
-            if (file.isDirectory()) {
-                findAndAddClassesInPackageByFile(packageName + "." + file.getName(), file.getAbsolutePath(), classes);
-            } else {
-                String className = packageName + "." + file.getName().substring(0, file.getName().length() - 6);
-                try {
-                    classes.add(Class.forName(className));
-                } catch (ClassNotFoundException e) {
-                    throw new BeanCreationException("Class not found: " + className, e);
+        List<String> directories = ScanCache.listDirectories(location);
+        String fingerprint = ScanCache.fingerprint(location, directories);
+        Queue<Class<?>> found = new ConcurrentLinkedQueue<>();
+        scanResource(packageName, packagePath, resource, classLoader, COMPONENT_READER, found);
+        ScanCache.put(packageName, locationKey, new ScanCache.Entry(fingerprint, directories, ScanCache.classNames(sorted(found))));
+        classes.addAll(found);
+    }
+
+    private static void scanResource(String packageName, String packagePath, URL resource, ClassLoader classLoader,
+                                     ClassFileAnnotationReader reader, Queue<Class<?>> classes) throws IOException {
+        String protocol = resource.getProtocol();
+        if ("file".equals(protocol)) {
+            String filePath = URLDecoder.decode(resource.getFile(), "UTF-8");
+            ForkJoinPool.commonPool().invoke(new DirectoryScanTask(packageName, new File(filePath), classLoader, reader, classes));
+        } else if ("jar".equals(protocol)) {
+            JarURLConnection jarURLConnection = (JarURLConnection) resource.openConnection();
+            // 不使用 URL 缓存中的 JarFile，避免关闭后影响其他使用者
+            jarURLConnection.setUseCaches(false);
+            // 以 / 结尾，避免扫描 com.foo 时匹配到 com.foobar
+            String entryPrefix = packagePath.isEmpty() ? "" : packagePath + "/";
+            List<ClassCandidate> candidates = new ArrayList<>();
+            try (JarFile jarFile = jarURLConnection.getJarFile()) {
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    JarEntry entry = entries.nextElement();
+                    String entryName = entry.getName();
+                    if (entryName.startsWith(entryPrefix) && entryName.endsWith(".class") && !entry.isDirectory()) {
+                        String className = entryName.substring(0, entryName.lastIndexOf('.')).replace('/', '.');
+                        candidates.add(new ClassCandidate(className, null, jarFile, entry));
+                    }
+                }
+                // 读取字节需要 jar 保持打开，任务在关闭前执行完毕
+                ForkJoinPool.commonPool().invoke(new ClassLoadTask(candidates, 0, candidates.size(), classLoader, reader, classes));
+            }
+        }
+    }
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            // initialize=false：只加载不初始化，非组件类不再执行静态代码块
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new BeanCreationException("Class not found: " + className, e);
+        }
+    }
+
+    /**
+     * 并发收集的结果顺序不固定，按类名排序保证同名 bean 的注册结果稳定
+     */
+    private static List<Class<?>> sorted(Queue<Class<?>> classes) {
+        List<Class<?>> result = new ArrayList<>(classes);
+        result.sort(Comparator.comparing(Class::getName));
+        return result;
+    }
+
+    /**
+     * 目录扫描任务：每个子目录拆分为一个子任务
+     */
+    private static class DirectoryScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String packageName;
+        private final File directory;
+        private final ClassLoader classLoader;
+        private final ClassFileAnnotationReader reader;
+        private final Queue<Class<?>> classes;
+
+        DirectoryScanTask(String packageName, File directory, ClassLoader classLoader, ClassFileAnnotationReader reader, Queue<Class<?>> classes) {
+            this.packageName = packageName;
+            this.directory = directory;
+            this.classLoader = classLoader;
+            this.reader = reader;
+            this.classes = classes;
+        }
+
+        @Override
+        protected void compute() {
+            if (!directory.exists() || !directory.isDirectory()) {
+                return;
+            }
+            File[] files = directory.listFiles(file -> (file.isFile() && file.getName().endsWith(".class")) || file.isDirectory());
+            if (files == null) {
+                return;
+            }
+            List<RecursiveAction> subTasks = new ArrayList<>();
+            List<ClassCandidate> candidates = new ArrayList<>();
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    subTasks.add(new DirectoryScanTask(packageName + "." + file.getName(), file, classLoader, reader, classes));
+                } else {
+                    String className = packageName + "." + file.getName().substring(0, file.getName().length() - 6);
+                    candidates.add(new ClassCandidate(className, file, null, null));
+                }
+            }
+            if (!candidates.isEmpty()) {
+                subTasks.add(new ClassLoadTask(candidates, 0, candidates.size(), classLoader, reader, classes));
+            }
+            invokeAll(subTasks);
+        }
+    }
+
+    /**
+     * 类加载任务：按区间二分拆分，指定了 reader 时先按字节过滤再加载
+     */
+    private static class ClassLoadTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<ClassCandidate> candidates;
+        private final int from;
+        private final int to;
+        private final ClassLoader classLoader;
+        private final ClassFileAnnotationReader reader;
+        private final Queue<Class<?>> classes;
+
+        ClassLoadTask(List<ClassCandidate> candidates, int from, int to, ClassLoader classLoader,
+                      ClassFileAnnotationReader reader, Queue<Class<?>> classes) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.classLoader = classLoader;
+            this.reader = reader;
+            this.classes = classes;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LOAD_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    ClassCandidate candidate = candidates.get(i);
+                    if (reader == null || reader.hasAnyAnnotation(candidate.read())) {
+                        classes.add(loadClass(candidate.className, classLoader));
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ClassLoadTask(candidates, from, mid, classLoader, reader, classes),
+                    new ClassLoadTask(candidates, mid, to, classLoader, reader, classes));
+        }
+    }
+
+    /**
+     * 待加载的类及其字节来源（目录中的文件或 jar 条目）
+     */
+    private static class ClassCandidate {
+        private final String className;
+        private final File file;
+        private final JarFile jarFile;
+        private final JarEntry jarEntry;
+
+        ClassCandidate(String className, File file, JarFile jarFile, JarEntry jarEntry) {
+            this.className = className;
+            this.file = file;
+            this.jarFile = jarFile;
+            this.jarEntry = jarEntry;
+        }
+
+        ByteBuffer read() {
+            try {
+                if (file != null) {
+                    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                            // 读满为止
+                        }
+                        return buffer.flip();
+                    }
+                }
+                try (InputStream in = jarFile.getInputStream(jarEntry)) {
+                    return ByteBuffer.wrap(in.readAllBytes());
                 }
+            } catch (IOException e) {
+                throw new BeanCreationException("Error reading class file of " + className, e);
             }
         }
     }
@@ -0,0 +1,112 @@
+package io.github.programmerchenyu.base;
+
+import io.github.programmerchenyu.beans.exception.BeanCreationException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 编译期组件索引，由 {@link io.github.programmerchenyu.processor.ComponentIndexProcessor} 生成。
+ * 索引按 classpath 根目录（目录或 jar）读取，没有索引的根目录仍然走类扫描。
+ * @author 爱吃小鱼的橙子
+ */
+public class ComponentIndex {
+
+    public static final String COMPONENT_INDEX_LOCATION = "META-INF/test-nexus.components";
+
+    // 根目录 -> 索引内容，没有索引的根目录记为 empty
+    private static final Map<String, Optional<List<String>>> INDEX_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 读取包资源所在 classpath 根目录的组件索引
+     * @param resource 包路径对应的资源
+     * @param packagePath 以 / 分隔的包路径
+     * @return 索引中的全部类名，根目录没有索引时返回 null
+     */
+    public static List<String> read(URL resource, String packagePath) {
+        try {
+            String protocol = resource.getProtocol();
+            if ("file".equals(protocol)) {
+                String filePath = URLDecoder.decode(resource.getFile(), "UTF-8");
+                String rootPath = filePath.substring(0, filePath.length() - packagePath.length());
+                return INDEX_CACHE.computeIfAbsent(rootPath, ComponentIndex::readDirectoryIndex).orElse(null);
+            } else if ("jar".equals(protocol)) {
+                URL jarFileURL = ((JarURLConnection) resource.openConnection()).getJarFileURL();
+                String jarPath = URLDecoder.decode(jarFileURL.getFile(), "UTF-8");
+                return INDEX_CACHE.computeIfAbsent(jarPath, ComponentIndex::readJarIndex).orElse(null);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new BeanCreationException("Error reading component index for " + resource, e);
+        }
+    }
+
+    /**
+     * 过滤出位于指定包（含子包）下的索引类
+     */
+    public static List<String> filter(List<String> index, String basePackage) {
+        String prefix = basePackage.isEmpty() ? "" : basePackage + ".";
+        List<String> classNames = new ArrayList<>();
+        for (String className : index) {
+            if (className.startsWith(prefix)) {
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    private static Optional<List<String>> readDirectoryIndex(String rootPath) {
+        File indexFile = new File(rootPath, COMPONENT_INDEX_LOCATION);
+        if (!indexFile.isFile()) {
+            return Optional.empty();
+        }
+        try (InputStream in = Files.newInputStream(indexFile.toPath())) {
+            return Optional.of(parse(in));
+        } catch (IOException e) {
+            throw new BeanCreationException("Error reading component index " + indexFile, e);
+        }
+    }
+
+    private static Optional<List<String>> readJarIndex(String jarPath) {
+        try (JarFile jarFile = new JarFile(jarPath)) {
+            JarEntry entry = jarFile.getJarEntry(COMPONENT_INDEX_LOCATION);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                return Optional.of(parse(in));
+            }
+        } catch (IOException e) {
+            throw new BeanCreationException("Error reading component index in " + jarPath, e);
+        }
+    }
+
+    private static List<String> parse(InputStream in) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                classNames.add(line);
+            }
+        }
+        return Collections.unmodifiableList(classNames);
+    }
+}
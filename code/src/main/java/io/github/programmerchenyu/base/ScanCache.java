@@ -0,0 +1,198 @@
+package io.github.programmerchenyu.base;
+
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * 组件扫描结果的磁盘缓存。
+ * 以 “扫描包 + classpath 根目录” 为粒度记录组件候选类，并用根目录的指纹判断是否失效，只有指纹变化的根目录才会重新扫描：
+ * jar 取路径、大小和修改时间；目录取上次扫描时记录的各级包目录的相对路径和修改时间，不再逐个访问类文件。
+ * 增删、重命名类文件都会改变所在目录的修改时间；原地重新编译的类文件不会，但缓存的类仍会被调用方重新检查注解，
+ * 只有原有类新增 @Component 的情况需要清理 target 或关闭缓存
+ * @author 爱吃小鱼的橙子
+ */
+public class ScanCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ScanCache.class.getName());
+
+    private static final String DEFAULT_CACHE_FILE = "target/test-nexus/scan-cache.properties";
+
+    private static final String SEPARATOR = "|";
+
+    private static Properties entries;
+
+    private static boolean dirty;
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(TestNexusProperties.SCAN_CACHE, "false"));
+    }
+
+    /**
+     * 列出目录根下的全部包目录（相对路径，根目录为空串），用于之后计算指纹；jar 返回空列表
+     */
+    public static List<String> listDirectories(File location) throws IOException {
+        List<String> directories = new ArrayList<>();
+        if (!location.isDirectory()) {
+            return directories;
+        }
+        Path root = location.toPath();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                directories.add(root.relativize(dir).toString().replace(File.separatorChar, '/'));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(directories);
+        return directories;
+    }
+
+    /**
+     * 计算 classpath 根目录的指纹
+     * @param location 包所在目录或 jar 文件
+     * @param directories 目录根下需要检查的包目录，见 {@link #listDirectories(File)}
+     */
+    public static String fingerprint(File location, List<String> directories) {
+        if (location.isFile()) {
+            return Long.toHexString(location.length()) + "-" + Long.toHexString(location.lastModified());
+        }
+        if (!location.isDirectory()) {
+            return "missing";
+        }
+        long hash = 17;
+        for (String directory : directories) {
+            // 目录被删除时修改时间为 0，同样会改变指纹
+            hash = 31 * hash + directory.hashCode();
+            hash = 31 * hash + new File(location, directory).lastModified();
+        }
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * 读取缓存的扫描结果，没有缓存时返回 null
+     */
+    public static synchronized Entry get(String basePackage, String location) {
+        String value = load().getProperty(key(basePackage, location));
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split(Pattern.quote(SEPARATOR), -1);
+        if (parts.length != 3) {
+            return null;
+        }
+        return new Entry(parts[0], split(parts[1]), split(parts[2]));
+    }
+
+    public static synchronized void put(String basePackage, String location, Entry entry) {
+        load().setProperty(key(basePackage, location),
+                entry.fingerprint + SEPARATOR + String.join(",", entry.directories) + SEPARATOR + String.join(",", entry.classNames));
+        dirty = true;
+    }
+
+    private static List<String> split(String value) {
+        return value.isEmpty() ? Collections.emptyList() : Arrays.asList(value.split(","));
+    }
+
+    /**
+     * 将本次扫描产生的变化写回磁盘，先写临时文件再替换，避免并发的构建读到半个文件
+     */
+    public static synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        Path cacheFile = cacheFile();
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path tempFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), "scan-cache", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                entries.store(out, "test-nexus component scan cache");
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            // 缓存只是加速手段，写入失败不影响本次运行
+            LOGGER.warning("Failed to write component scan cache " + cacheFile + ": " + e);
+        }
+    }
+
+    private static Properties load() {
+        if (entries != null) {
+            return entries;
+        }
+        entries = new Properties();
+        Path cacheFile = cacheFile();
+        if (Files.isRegularFile(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                entries.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                // 缓存损坏时当作冷启动
+                entries.clear();
+            }
+        }
+        return entries;
+    }
+
+    private static Path cacheFile() {
+        return Paths.get(System.getProperty(TestNexusProperties.SCAN_CACHE_FILE, DEFAULT_CACHE_FILE));
+    }
+
+    private static String key(String basePackage, String location) {
+        return basePackage + "@" + location;
+    }
+
+    /**
+     * 一个根目录的扫描结果：指纹、计算指纹用到的包目录、组件候选类名
+     */
+    public static final class Entry {
+
+        private final String fingerprint;
+
+        private final List<String> directories;
+
+        private final List<String> classNames;
+
+        public Entry(String fingerprint, List<String> directories, List<String> classNames) {
+            this.fingerprint = fingerprint;
+            this.directories = directories;
+            this.classNames = classNames;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public List<String> getDirectories() {
+            return directories;
+        }
+
+        public List<String> getClassNames() {
+            return classNames;
+        }
+    }
+
+    static List<String> classNames(Iterable<Class<?>> classes) {
+        List<String> classNames = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            classNames.add(clazz.getName());
+        }
+        return classNames;
+    }
+}
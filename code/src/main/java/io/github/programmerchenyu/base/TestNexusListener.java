@@ -0,0 +1,175 @@
+package io.github.programmerchenyu.base;
+
+import io.github.programmerchenyu.beans.factory.BeanFactory;
+import io.github.programmerchenyu.beans.factory.TestNexusObjectFactory;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+import io.github.programmerchenyu.constants.context.ContextAttribute;
+import io.github.programmerchenyu.metrics.TestNexusMetrics;
+import org.testng.IClassListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestClass;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * 通过 ServiceLoader 自动注册的监听器：测试实例上没有正在执行的调用时归还它通过 @Lazy 代理借出的池化对象，
+ * 测试类结束时释放测试实例持有的池化对象和原型对象，
+ * <test> 块结束时兜底释放一次，两处同时销毁已结束线程遗留的线程作用域实例；套件结束时释放每个 <test> 上下文持有的容器引用，共享容器在最后一个上下文释放后才执行 @Destroy，
+ * 开启统计时最后输出容器耗时报告，开启可达性报告时列出没有任何测试类用到的 bean 定义。
+ * 报告通过 java.util.logging 以 INFO 级别输出，由使用方的日志配置决定去向
+ * @author 爱吃小鱼的橙子
+ */
+public class TestNexusListener implements ISuiteListener, ITestListener, IClassListener {
+
+    private static final Logger LOGGER = Logger.getLogger(TestNexusListener.class.getName());
+
+    // 测试类只能拿到所属的 <test> 配置，借此找到对应的上下文
+    private final Map<XmlTest, ITestContext> contexts = new ConcurrentHashMap<>();
+
+    // 每个测试实例正在执行的调用数，parallel="methods" 或 threadPoolSize 下同一实例可能同时有多个调用
+    private final Map<Object, Integer> runningInvocations = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    @Override
+    public void onStart(ISuite suite) {
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            if (Boolean.getBoolean(TestNexusProperties.REPORT_UNREACHABLE)) {
+                LOGGER.info(reportUnreachableBeans(suite));
+            }
+            releaseContexts(suite);
+        } finally {
+            if (TestNexusMetrics.isEnabled()) {
+                LOGGER.info(TestNexusMetrics.report(Integer.getInteger(TestNexusProperties.METRICS_TOP, 10)));
+            }
+        }
+    }
+
+    /**
+     * 共享容器的根为所有使用它的上下文的测试类之和，每个容器列出一次
+     */
+    private String reportUnreachableBeans(ISuite suite) {
+        Map<BeanFactory, Set<String>> roots = new IdentityHashMap<>();
+        for (ISuiteResult result : suite.getResults().values()) {
+            Object objectFactory = result.getTestContext().getAttribute(ContextAttribute.OBJECT_FACTORY);
+            if (objectFactory instanceof TestNexusObjectFactory) {
+                TestNexusObjectFactory testNexusObjectFactory = (TestNexusObjectFactory) objectFactory;
+                if (testNexusObjectFactory.getBeanFactory() != null) {
+                    roots.computeIfAbsent(testNexusObjectFactory.getBeanFactory(), key -> new LinkedHashSet<>())
+                            .addAll(testNexusObjectFactory.getTestBeanNames());
+                }
+            }
+        }
+        StringBuilder report = new StringBuilder("test-nexus unreachable beans\n");
+        roots.forEach((beanFactory, testBeanNames) -> {
+            Set<String> unreachable = beanFactory.findUnreachableBeans(testBeanNames);
+            report.append(String.format("  container for %s: %d unreachable%n", testBeanNames, unreachable.size()));
+            for (String beanName : unreachable) {
+                report.append("    ").append(beanName).append('\n');
+            }
+        });
+        return report.toString();
+    }
+
+    private void releaseContexts(ISuite suite) {
+        for (ISuiteResult result : suite.getResults().values()) {
+            Object objectFactory = result.getTestContext().getAttribute(ContextAttribute.OBJECT_FACTORY);
+            if (objectFactory instanceof TestNexusObjectFactory) {
+                ((TestNexusObjectFactory) objectFactory).destroyTestNexusObjectFactory();
+            }
+        }
+    }
+
+    @Override
+    public void onStart(ITestContext context) {
+        contexts.put(context.getCurrentXmlTest(), context);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        contexts.remove(context.getCurrentXmlTest());
+        Object objectFactory = context.getAttribute(ContextAttribute.OBJECT_FACTORY);
+        if (objectFactory instanceof TestNexusObjectFactory) {
+            ((TestNexusObjectFactory) objectFactory).releaseTestInstances();
+            ((TestNexusObjectFactory) objectFactory).destroyTerminatedThreadBeans();
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        if (result.getInstance() != null) {
+            runningInvocations.merge(result.getInstance(), 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        releaseInvocation(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        releaseInvocation(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        releaseInvocation(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        releaseInvocation(result);
+    }
+
+    /**
+     * 一次调用结束，测试实例上的调用全部结束后才归还，避免归还其他调用仍在使用的对象
+     */
+    private void releaseInvocation(ITestResult result) {
+        Object testInstance = result.getInstance();
+        if (testInstance == null || runningInvocations.computeIfPresent(testInstance, (key, count) -> count > 1 ? count - 1 : null) != null) {
+            return;
+        }
+        Object objectFactory = result.getTestContext().getAttribute(ContextAttribute.OBJECT_FACTORY);
+        if (objectFactory instanceof TestNexusObjectFactory) {
+            ((TestNexusObjectFactory) objectFactory).releaseInvocation(testInstance);
+        }
+    }
+
+    @Override
+    public void onBeforeClass(ITestClass testClass) {
+    }
+
+    /**
+     * 该回调早于测试类的 @AfterClass 方法执行，声明了 @AfterClass 的测试类推迟到 <test> 块结束时再释放
+     */
+    @Override
+    public void onAfterClass(ITestClass testClass) {
+        ITestContext context = contexts.get(testClass.getXmlTest());
+        if (context == null) {
+            return;
+        }
+        Object objectFactory = context.getAttribute(ContextAttribute.OBJECT_FACTORY);
+        if (objectFactory instanceof TestNexusObjectFactory) {
+            TestNexusObjectFactory testNexusObjectFactory = (TestNexusObjectFactory) objectFactory;
+            if (testClass.getAfterClassMethods().length == 0) {
+                testNexusObjectFactory.releaseTestInstance(testClass.getRealClass());
+            }
+            testNexusObjectFactory.destroyTerminatedThreadBeans();
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package io.github.programmerchenyu.beans;
 
+import io.github.programmerchenyu.beans.accessor.AccessorFactory;
+import io.github.programmerchenyu.beans.accessor.MemberInvoker;
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+
+import java.beans.Introspector;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
  * @author 爱吃小鱼的橙子
@@ -10,18 +16,62 @@ public class BeanDefinition {
     private final Class<?> clazz;
     private final Method factoryMethod;
     private final Constructor<?> constructor;
+    // 非静态工厂方法所在配置类的 bean 名称，组件类与静态工厂方法为 null
+    private final String factoryBeanName;
+    private final boolean factoryMethodDefinition;
+    private volatile MemberInvoker instantiator;
 
     public BeanDefinition(Class<?> clazz) throws NoSuchMethodException {
         this.clazz = clazz;
         this.factoryMethod = null;
-        // 默认无参构造
-        this.constructor = clazz.getDeclaredConstructor();
+        // 标注了 @Autowired 的构造器，没有时使用无参构造
+        this.constructor = findConstructor(clazz);
+        this.constructor.setAccessible(true);
+        this.factoryBeanName = null;
+        this.factoryMethodDefinition = false;
     }
 
     public BeanDefinition(Method factoryMethod) {
         this.clazz = factoryMethod.getReturnType();
         this.factoryMethod = factoryMethod;
         this.constructor = null;
+        this.factoryBeanName = Modifier.isStatic(factoryMethod.getModifiers())
+                ? null : Introspector.decapitalize(factoryMethod.getDeclaringClass().getSimpleName());
+        this.factoryMethodDefinition = true;
+    }
+
+    /**
+     * 编译期生成的组件定义，实例化直接调用生成的构造代码
+     */
+    public BeanDefinition(Class<?> clazz, MemberInvoker instantiator) {
+        this.clazz = clazz;
+        this.factoryMethod = null;
+        this.constructor = null;
+        this.factoryBeanName = null;
+        this.factoryMethodDefinition = false;
+        this.instantiator = instantiator;
+    }
+
+    /**
+     * 编译期生成的 @Bean 定义
+     * @param factoryBeanName 非静态工厂方法所在配置类的 bean 名称，静态方法传 null
+     */
+    public BeanDefinition(Class<?> clazz, String factoryBeanName, MemberInvoker instantiator) {
+        this.clazz = clazz;
+        this.factoryMethod = null;
+        this.constructor = null;
+        this.factoryBeanName = factoryBeanName;
+        this.factoryMethodDefinition = true;
+        this.instantiator = instantiator;
+    }
+
+    private static Constructor<?> findConstructor(Class<?> clazz) throws NoSuchMethodException {
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(Autowired.class)) {
+                return constructor;
+            }
+        }
+        return clazz.getDeclaredConstructor();
     }
 
     public Class<?> getClazz() {
@@ -33,10 +83,26 @@ public class BeanDefinition {
     }
 
     public boolean hasMethod() {
-        return factoryMethod != null;
+        return factoryMethodDefinition;
+    }
+
+    public String getFactoryBeanName() {
+        return factoryBeanName;
     }
 
     public Constructor<?> getConstructor() {
         return constructor;
     }
+
+    /**
+     * 构造器或工厂方法对应的访问器，首次使用时生成；@Autowired 构造器的参数由容器在实例化前解析后传入
+     */
+    public MemberInvoker getInstantiator() {
+        MemberInvoker invoker = instantiator;
+        if (invoker == null) {
+            invoker = hasMethod() ? AccessorFactory.forMethod(factoryMethod) : AccessorFactory.forConstructor(constructor);
+            instantiator = invoker;
+        }
+        return invoker;
+    }
 }
@@ -0,0 +1,180 @@
+package io.github.programmerchenyu.beans;
+
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+import io.github.programmerchenyu.beans.factory.annotation.Destroy;
+import io.github.programmerchenyu.beans.factory.annotation.InitAfter;
+import io.github.programmerchenyu.beans.factory.annotation.InitBefore;
+import io.github.programmerchenyu.beans.factory.annotation.Reset;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 类级别的注入与生命周期元数据。
+ * 每个类只反射扫描一次，成员在解析时统一 setAccessible，之后每次创建对象都直接复用；
+ * 编译期生成了装配代码的类直接使用生成的元数据，不再反射扫描
+ * @author 爱吃小鱼的橙子
+ */
+public class BeanMetadata {
+
+    // 生成的装配代码登记的元数据工厂，在该类第一次被解析前登记才会生效
+    private static final ClassValue<AtomicReference<Supplier<BeanMetadata>>> GENERATED = new ClassValue<AtomicReference<Supplier<BeanMetadata>>>() {
+        @Override
+        protected AtomicReference<Supplier<BeanMetadata>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    private static final ClassValue<BeanMetadata> CACHE = new ClassValue<BeanMetadata>() {
+        @Override
+        protected BeanMetadata computeValue(Class<?> type) {
+            Supplier<BeanMetadata> generated = GENERATED.get(type).get();
+            return generated != null ? generated.get() : new BeanMetadata(type);
+        }
+    };
+
+    private final InjectionPoint constructorInjectionPoint;
+    private final List<InjectionPoint> fieldInjectionPoints;
+    private final List<InjectionPoint> methodInjectionPoints;
+    private final List<Method> initBeforeMethods;
+    private final List<Method> initAfterMethods;
+    private final List<Method> asyncInitAfterMethods;
+    private final List<Method> destroyMethods;
+    private final List<Method> resetMethods;
+
+    private BeanMetadata(Class<?> clazz) {
+        InjectionPoint constructorInjectionPoint = null;
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(Autowired.class)) {
+                constructor.setAccessible(true);
+                constructorInjectionPoint = new InjectionPoint(constructor);
+                break;
+            }
+        }
+        this.constructorInjectionPoint = constructorInjectionPoint;
+        List<InjectionPoint> fieldInjectionPoints = new ArrayList<>();
+        List<InjectionPoint> methodInjectionPoints = new ArrayList<>();
+        List<Method> initBeforeMethods = new ArrayList<>();
+        List<Method> initAfterMethods = new ArrayList<>();
+        List<Method> asyncInitAfterMethods = new ArrayList<>();
+        List<Method> destroyMethods = new ArrayList<>();
+        List<Method> resetMethods = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Autowired.class)) {
+                field.setAccessible(true);
+                fieldInjectionPoints.add(new InjectionPoint(field));
+            }
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            boolean lifecycle = false;
+            if (method.isAnnotationPresent(Autowired.class) && method.getParameterCount() > 0) {
+                // 先放开访问检查，私有方法和包级方法才能编译为方法句柄访问器
+                method.setAccessible(true);
+                methodInjectionPoints.add(new InjectionPoint(method));
+                lifecycle = true;
+            }
+            if (method.isAnnotationPresent(InitBefore.class)) {
+                initBeforeMethods.add(method);
+                lifecycle = true;
+            }
+            InitAfter initAfter = method.getAnnotation(InitAfter.class);
+            if (initAfter != null) {
+                (initAfter.async() ? asyncInitAfterMethods : initAfterMethods).add(method);
+                lifecycle = true;
+            }
+            if (method.isAnnotationPresent(Destroy.class)) {
+                destroyMethods.add(method);
+                lifecycle = true;
+            }
+            if (method.isAnnotationPresent(Reset.class)) {
+                resetMethods.add(method);
+                lifecycle = true;
+            }
+            if (lifecycle) {
+                method.setAccessible(true);
+            }
+        }
+        this.fieldInjectionPoints = Collections.unmodifiableList(fieldInjectionPoints);
+        this.methodInjectionPoints = Collections.unmodifiableList(methodInjectionPoints);
+        this.initBeforeMethods = Collections.unmodifiableList(initBeforeMethods);
+        this.initAfterMethods = Collections.unmodifiableList(initAfterMethods);
+        this.asyncInitAfterMethods = Collections.unmodifiableList(asyncInitAfterMethods);
+        this.destroyMethods = Collections.unmodifiableList(destroyMethods);
+        this.resetMethods = Collections.unmodifiableList(resetMethods);
+    }
+
+    /**
+     * 编译期生成的元数据，生命周期方法须已 setAccessible
+     */
+    public BeanMetadata(InjectionPoint constructorInjectionPoint, List<InjectionPoint> fieldInjectionPoints,
+                        List<InjectionPoint> methodInjectionPoints, List<Method> initBeforeMethods, List<Method> initAfterMethods,
+                        List<Method> asyncInitAfterMethods, List<Method> destroyMethods, List<Method> resetMethods) {
+        this.constructorInjectionPoint = constructorInjectionPoint;
+        this.fieldInjectionPoints = Collections.unmodifiableList(fieldInjectionPoints);
+        this.methodInjectionPoints = Collections.unmodifiableList(methodInjectionPoints);
+        this.initBeforeMethods = Collections.unmodifiableList(initBeforeMethods);
+        this.initAfterMethods = Collections.unmodifiableList(initAfterMethods);
+        this.asyncInitAfterMethods = Collections.unmodifiableList(asyncInitAfterMethods);
+        this.destroyMethods = Collections.unmodifiableList(destroyMethods);
+        this.resetMethods = Collections.unmodifiableList(resetMethods);
+    }
+
+    public static BeanMetadata forClass(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 登记生成的元数据工厂，第一次需要该类的元数据时才调用；该类已经被解析过时保留原有结果，二者描述的是同一组成员
+     */
+    public static void register(Class<?> clazz, Supplier<BeanMetadata> metadata) {
+        GENERATED.get(clazz).compareAndSet(null, metadata);
+    }
+
+    public InjectionPoint getConstructorInjectionPoint() {
+        return constructorInjectionPoint;
+    }
+
+    public List<InjectionPoint> getFieldInjectionPoints() {
+        return fieldInjectionPoints;
+    }
+
+    public List<InjectionPoint> getMethodInjectionPoints() {
+        return methodInjectionPoints;
+    }
+
+    public List<Method> getInitBeforeMethods() {
+        return initBeforeMethods;
+    }
+
+    /**
+     * 同步执行的 @InitAfter 方法
+     */
+    public List<Method> getInitAfterMethods() {
+        return initAfterMethods;
+    }
+
+    /**
+     * 标注了 @InitAfter(async = true) 的方法
+     */
+    public List<Method> getAsyncInitAfterMethods() {
+        return asyncInitAfterMethods;
+    }
+
+    public List<Method> getDestroyMethods() {
+        return destroyMethods;
+    }
+
+    public List<Method> getResetMethods() {
+        return resetMethods;
+    }
+
+    public boolean hasDestroyMethods() {
+        return !destroyMethods.isEmpty();
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.programmerchenyu.beans;
+
+import io.github.programmerchenyu.beans.accessor.AccessorFactory;
+import io.github.programmerchenyu.beans.accessor.MemberInvoker;
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+import io.github.programmerchenyu.beans.factory.annotation.Lazy;
+import io.github.programmerchenyu.enums.dependency.DependencyKindEnum;
+import io.github.programmerchenyu.enums.scope.ScopeEnum;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/**
+ * 一个 @Autowired 注入点（字段、方法或构造器），解析结果（包括集合依赖的泛型参数）按类缓存在 {@link BeanMetadata} 中
+ * @author 爱吃小鱼的橙子
+ */
+public class InjectionPoint {
+    private final Member member;
+    private final String name;
+    private final ScopeEnum scope;
+    private final Class<?>[] dependencyTypes;
+    private final DependencyKindEnum[] kinds;
+    // 单个依赖为依赖类型本身，集合、Map、Optional 为泛型参数中的元素类型
+    private final Class<?>[] elementTypes;
+    private final boolean[] lazy;
+    private final MemberInvoker invoker;
+
+    public InjectionPoint(Field field) {
+        this(field, field.getAnnotation(Autowired.class), new Class<?>[]{field.getType()}, new Type[]{field.getGenericType()},
+                new boolean[]{field.isAnnotationPresent(Lazy.class)}, AccessorFactory.forFieldSetter(field));
+    }
+
+    public InjectionPoint(Constructor<?> constructor) {
+        this(constructor, constructor.getAnnotation(Autowired.class), constructor.getParameterTypes(), genericParameterTypes(constructor),
+                lazyParameters(constructor), AccessorFactory.forConstructor(constructor));
+    }
+
+    public InjectionPoint(Method method) {
+        this(method, method.getAnnotation(Autowired.class), method.getParameterTypes(), genericParameterTypes(method),
+                lazyParameters(method), AccessorFactory.forMethod(method));
+    }
+
+    /**
+     * 编译期生成的注入点：注解属性已在生成时解析，没有对应的反射成员
+     * @param name @Autowired 指定的 bean 名称，空字符串表示按类型注入
+     * @param scope 已解析的作用域，不能为 DEFAULT
+     */
+    public InjectionPoint(String name, ScopeEnum scope, Class<?>[] dependencyTypes, boolean[] lazy, MemberInvoker invoker) {
+        this(name, scope, dependencyTypes, singleKinds(dependencyTypes.length), dependencyTypes, lazy, invoker);
+    }
+
+    /**
+     * 编译期生成的注入点，包含集合、Map、Optional 依赖
+     * @param kinds 每个依赖的形式
+     * @param elementTypes 单个依赖为依赖类型本身，其余为泛型参数中的元素类型
+     */
+    public InjectionPoint(String name, ScopeEnum scope, Class<?>[] dependencyTypes, DependencyKindEnum[] kinds, Class<?>[] elementTypes,
+                          boolean[] lazy, MemberInvoker invoker) {
+        this.member = null;
+        this.name = name;
+        this.scope = scope;
+        this.dependencyTypes = dependencyTypes;
+        this.kinds = kinds;
+        this.elementTypes = elementTypes;
+        this.lazy = lazy;
+        this.invoker = invoker;
+    }
+
+    private InjectionPoint(Member member, Autowired autowired, Class<?>[] dependencyTypes, Type[] genericTypes, boolean[] lazy, MemberInvoker invoker) {
+        this.member = member;
+        this.name = autowired.name();
+        this.scope = resolveScope(autowired);
+        this.dependencyTypes = dependencyTypes;
+        this.kinds = new DependencyKindEnum[dependencyTypes.length];
+        this.elementTypes = new Class<?>[dependencyTypes.length];
+        for (int i = 0; i < dependencyTypes.length; i++) {
+            DependencyKindEnum kind = DependencyKindEnum.of(dependencyTypes[i]);
+            Class<?> elementType = kind == DependencyKindEnum.SINGLE ? null : elementType(kind, genericTypes[i]);
+            // 原始类型、List<Object>、键不是 String 的 Map 等无法按元素收集，退回为按名称或类型注入单个 bean
+            kinds[i] = elementType != null ? kind : DependencyKindEnum.SINGLE;
+            elementTypes[i] = elementType != null ? elementType : dependencyTypes[i];
+        }
+        this.lazy = lazy;
+        this.invoker = invoker;
+    }
+
+    /**
+     * 反射解析的注入点对应的成员，生成的注入点为 null
+     */
+    public Member getMember() {
+        return member;
+    }
+
+    /**
+     * @Autowired 指定的 bean 名称，空字符串表示按类型注入
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 注入作用域：scope 属性优先，未指定时由 singleton 属性决定
+     */
+    public ScopeEnum getScope() {
+        return scope;
+    }
+
+    public Class<?>[] getDependencyTypes() {
+        return dependencyTypes;
+    }
+
+    /**
+     * 第 index 个依赖的形式
+     */
+    public DependencyKindEnum getKind(int index) {
+        return kinds[index];
+    }
+
+    /**
+     * 第 index 个依赖按类型匹配 bean 时使用的类型：单个依赖为依赖类型本身，集合、Map、Optional 为元素类型
+     */
+    public Class<?> getElementType(int index) {
+        return elementTypes[index];
+    }
+
+    /**
+     * 第 index 个依赖是否标注了 @Lazy
+     */
+    public boolean isLazy(int index) {
+        return lazy[index];
+    }
+
+    /**
+     * 字段注入点为 setter，方法与构造器注入点为调用器
+     */
+    public MemberInvoker getInvoker() {
+        return invoker;
+    }
+
+    private static ScopeEnum resolveScope(Autowired autowired) {
+        if (autowired.scope() != ScopeEnum.DEFAULT) {
+            return autowired.scope();
+        }
+        return autowired.singleton() ? ScopeEnum.SINGLETON : ScopeEnum.PROTOTYPE;
+    }
+
+    /**
+     * 泛型参数只在解析注入点时读取一次：List&lt;T&gt;、Set&lt;T&gt;、Collection&lt;T&gt;、Optional&lt;T&gt; 取 T，Map&lt;String, T&gt; 取 T，
+     * 通配符取上界；缺少泛型参数、Map 的键不是 String 或元素类型无法确定时返回 null
+     */
+    private static Class<?> elementType(DependencyKindEnum kind, Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+        if (kind == DependencyKindEnum.MAP && rawType(arguments[0]) != String.class) {
+            return null;
+        }
+        Class<?> elementType = rawType(arguments[kind == DependencyKindEnum.MAP ? 1 : 0]);
+        return elementType == Object.class ? null : elementType;
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return rawType(((ParameterizedType) type).getRawType());
+        } else if (type instanceof WildcardType) {
+            return rawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return null;
+    }
+
+    private static Type[] genericParameterTypes(Executable executable) {
+        Type[] genericTypes = executable.getGenericParameterTypes();
+        // 内部类等情况下泛型参数列表可能与参数列表长度不一致，此时退回原始类型
+        return genericTypes.length == executable.getParameterCount() ? genericTypes : executable.getParameterTypes();
+    }
+
+    private static DependencyKindEnum[] singleKinds(int length) {
+        DependencyKindEnum[] kinds = new DependencyKindEnum[length];
+        Arrays.fill(kinds, DependencyKindEnum.SINGLE);
+        return kinds;
+    }
+
+    private static boolean[] lazyParameters(Executable executable) {
+        boolean lazyAll = executable.isAnnotationPresent(Lazy.class);
+        Parameter[] parameters = executable.getParameters();
+        boolean[] lazy = new boolean[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            lazy[i] = lazyAll || parameters[i].isAnnotationPresent(Lazy.class);
+        }
+        return lazy;
+    }
+}
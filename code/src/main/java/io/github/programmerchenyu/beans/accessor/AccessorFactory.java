@@ -0,0 +1,107 @@
+package io.github.programmerchenyu.beans.accessor;
+
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 访问器工厂：默认把构造器、方法、字段编译为签名统一的 MethodHandle，并以 {@link MethodHandleInvoker} 为模板
+ * 为每个成员定义一个隐藏类，句柄在其中是常量，JIT 可以把整个调用链内联；
+ * -Dtestnexus.accessor=reflection 时退回普通反射，便于调试
+ * @author 爱吃小鱼的橙子
+ */
+public class AccessorFactory {
+
+    private static final boolean REFLECTION = "reflection".equalsIgnoreCase(System.getProperty(TestNexusProperties.ACCESSOR_MODE));
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    // 模板类的字节码，读取失败时为 null，退回共用的 lambda 调用
+    private static final byte[] INVOKER_TEMPLATE = readInvokerTemplate();
+
+    public static MemberInvoker forConstructor(Constructor<?> constructor) {
+        if (REFLECTION) {
+            return (target, args) -> constructor.newInstance(args);
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            // 补一个被忽略的目标对象参数，与方法调用保持同一签名
+            return compile(MethodHandles.dropArguments(handle, 0, Object.class));
+        } catch (IllegalAccessException e) {
+            return (target, args) -> constructor.newInstance(args);
+        }
+    }
+
+    public static MemberInvoker forMethod(Method method) {
+        if (REFLECTION) {
+            return method::invoke;
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                // 静态方法补一个被忽略的目标对象参数，与实例方法保持同一签名
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return compile(handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE));
+        } catch (IllegalAccessException e) {
+            return method::invoke;
+        }
+    }
+
+    public static MemberInvoker forFieldSetter(Field field) {
+        if (REFLECTION) {
+            return (target, args) -> {
+                field.set(target, args[0]);
+                return null;
+            };
+        }
+        try {
+            // 写入 args[0]，void 返回值转换为 null
+            MethodHandle setter = LOOKUP.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class))
+                    .asSpreader(Object[].class, 1)
+                    .asType(INVOKER_TYPE);
+            return compile(setter);
+        } catch (IllegalAccessException e) {
+            return (target, args) -> {
+                field.set(target, args[0]);
+                return null;
+            };
+        }
+    }
+
+    /**
+     * 为签名为 (Object, Object[])Object 的句柄定义专属的隐藏类访问器
+     */
+    private static MemberInvoker compile(MethodHandle handle) {
+        if (INVOKER_TEMPLATE != null) {
+            try {
+                MethodHandles.Lookup lookup = LOOKUP.defineHiddenClassWithClassData(INVOKER_TEMPLATE, handle, true);
+                return (MemberInvoker) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+            } catch (Throwable e) {
+                // 无法定义隐藏类时退回共用的调用点
+            }
+        }
+        return (target, args) -> (Object) handle.invokeExact(target, args);
+    }
+
+    private static byte[] readInvokerTemplate() {
+        try (InputStream in = MethodHandleInvoker.class.getResourceAsStream(MethodHandleInvoker.class.getSimpleName() + ".class")) {
+            return in != null ? in.readAllBytes() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
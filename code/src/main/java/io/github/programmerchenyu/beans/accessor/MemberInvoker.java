@@ -0,0 +1,16 @@
+package io.github.programmerchenyu.beans.accessor;
+
+/**
+ * 编译后的成员访问器，统一封装构造器、方法调用和字段赋值
+ * @author 爱吃小鱼的橙子
+ */
+@FunctionalInterface
+public interface MemberInvoker {
+
+    /**
+     * @param target 目标对象，构造器与静态方法忽略该参数
+     * @param args 参数，字段赋值时 args[0] 为要写入的值
+     * @return 构造出的对象或方法返回值，void 方法与字段赋值返回 null
+     */
+    Object invoke(Object target, Object[] args) throws Throwable;
+}
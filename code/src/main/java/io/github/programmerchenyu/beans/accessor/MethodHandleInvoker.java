@@ -0,0 +1,30 @@
+package io.github.programmerchenyu.beans.accessor;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * 访问器模板：{@link AccessorFactory} 以本类的字节码为每个成员定义一个隐藏类，成员的 MethodHandle 作为类数据传入。
+ * 句柄保存在各隐藏类自己的 static final 字段中，对 JIT 是常量，调用可以被内联；
+ * 本类自身正常加载时没有类数据，不会被实例化
+ * @author 爱吃小鱼的橙子
+ */
+final class MethodHandleInvoker implements MemberInvoker {
+
+    // 签名为 (Object, Object[])Object
+    private static final MethodHandle HANDLE = classData();
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws Throwable {
+        return (Object) HANDLE.invokeExact(target, args);
+    }
+
+    private static MethodHandle classData() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.programmerchenyu.beans.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 容器关闭时汇总所有销毁失败的 bean，而不是在第一个异常处中断
+ * @author 爱吃小鱼的橙子
+ */
+public class BeanDestructionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, Throwable> failures;
+
+    public BeanDestructionException(Map<String, Throwable> failures) {
+        super(buildMessage(failures));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        for (Throwable failure : failures.values()) {
+            addSuppressed(failure);
+        }
+    }
+
+    /**
+     * bean 名称 -> 销毁失败的原因
+     */
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+
+    private static String buildMessage(Map<String, Throwable> failures) {
+        StringBuilder message = new StringBuilder("Failed to destroy ").append(failures.size()).append(" bean(s):");
+        failures.forEach((beanName, failure) -> {
+            message.append(System.lineSeparator()).append("  ").append(beanName).append(": ").append(failure);
+            Throwable rootCause = rootCause(failure);
+            if (rootCause != failure) {
+                message.append(" (caused by ").append(rootCause).append(')');
+            }
+        });
+        return message.toString();
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable rootCause = failure;
+        while (rootCause.getCause() != null && rootCause.getCause() != rootCause) {
+            rootCause = rootCause.getCause();
+        }
+        return rootCause;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.programmerchenyu.beans.exception;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 容器校验一次性汇总所有缺失、有歧义或无法打破的循环依赖，而不是在第一个问题处中断
+ * @author 爱吃小鱼的橙子
+ */
+public class BeanValidationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> problems;
+
+    public BeanValidationException(List<String> problems) {
+        super(buildMessage(problems));
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    private static String buildMessage(List<String> problems) {
+        StringBuilder message = new StringBuilder("Found ").append(problems.size()).append(" problem(s) in bean definitions:");
+        for (String problem : problems) {
+            message.append(System.lineSeparator()).append("  ").append(problem);
+        }
+        return message.toString();
+    }
+}
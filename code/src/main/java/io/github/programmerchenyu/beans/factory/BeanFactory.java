@@ -1,18 +1,50 @@
 package io.github.programmerchenyu.beans.factory;
 
+import io.github.programmerchenyu.base.annotion.TestNexus;
 import io.github.programmerchenyu.beans.BeanDefinition;
+import io.github.programmerchenyu.beans.BeanMetadata;
+import io.github.programmerchenyu.beans.InjectionPoint;
 import io.github.programmerchenyu.beans.exception.BeanCreationException;
-import io.github.programmerchenyu.beans.factory.annotation.Autowired;
-import io.github.programmerchenyu.beans.factory.annotation.InitAfter;
-import io.github.programmerchenyu.beans.factory.annotation.InitBefore;
+import io.github.programmerchenyu.beans.exception.BeanDestructionException;
+import io.github.programmerchenyu.beans.exception.BeanValidationException;
+import io.github.programmerchenyu.beans.factory.graph.DependencyGraph;
+import io.github.programmerchenyu.beans.factory.graph.DependencyGraphExporter;
+import io.github.programmerchenyu.beans.factory.pool.BeanPool;
+import io.github.programmerchenyu.beans.factory.pool.PoolMetrics;
+import io.github.programmerchenyu.beans.factory.proxy.LazyProxyFactory;
+import io.github.programmerchenyu.beans.factory.proxy.LazyTarget;
 import io.github.programmerchenyu.chain.dependency.DependencyInjectionChain;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
 import io.github.programmerchenyu.enums.chain.ProcessorEnum;
+import io.github.programmerchenyu.enums.dependency.DependencyKindEnum;
+import io.github.programmerchenyu.enums.scope.ScopeEnum;
+import io.github.programmerchenyu.metrics.BeanPhase;
+import io.github.programmerchenyu.metrics.ContainerPhase;
+import io.github.programmerchenyu.metrics.TestNexusMetrics;
 
 import java.beans.Introspector;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * @author 爱吃小鱼的橙子
@@ -22,172 +54,1325 @@ public class BeanFactory {
     private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>();
     private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>();
     private final Map<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<>();
-    private final LinkedList<Object> destroyStack = new LinkedList<>();
+    private final Deque<Object> destroyStack = new ConcurrentLinkedDeque<>();
+    // 单例创建锁，按 bean 名称细分，互不相关的单例可以并发创建
+    private final Map<String, ReentrantLock> creationLocks = new ConcurrentHashMap<>();
+    // 正在创建单例的线程，以及线程正在等待的单例，用于检测跨线程的循环等待
+    private final Map<String, Thread> creatingThreads = new ConcurrentHashMap<>();
+    private final Map<Thread, String> waitingFor = new ConcurrentHashMap<>();
+    // 类型索引：父类、接口 -> 候选 bean 名称
+    private final Map<Class<?>, List<String>> typeIndex = new ConcurrentHashMap<>();
+    // 冻结后每个定义分配一个整数 id，已创建的单例按 id 存入数组，热路径只做数组读取
+    private final Map<String, Integer> beanIds = new ConcurrentHashMap<>();
+    private volatile String[] beanNamesById = new String[0];
+    private volatile AtomicReferenceArray<Object> singletonsById = new AtomicReferenceArray<>(0);
+    // 注入点 -> 各依赖解析出的 bean id，-1 表示尚未解析；注册表变化时清空
+    private final Map<InjectionPoint, int[]> resolvedDependencyIds = new ConcurrentHashMap<>();
+    // 集合、Map、Optional 注入点 -> 每个依赖按名称排序的候选 bean id
+    private final Map<InjectionPoint, int[][]> resolvedCandidateIds = new ConcurrentHashMap<>();
+    // 单例作用域的集合注入点 -> 每个依赖已构建好的不可变集合，所有注入共用
+    private final Map<InjectionPoint, Object[]> singletonCollections = new ConcurrentHashMap<>();
+    // 池化作用域：bean 名称 -> 对象池
+    private final Map<String, BeanPool> pools = new ConcurrentHashMap<>();
+    // 使用者 -> 借出的池化对象、带 @Destroy 的原型对象；没有 @Destroy 的原型不做任何记录
+    private final OwnedBeanRegistry ownedBeans = new OwnedBeanRegistry();
+    // 线程作用域：每个线程各自的实例
+    private final ThreadScope threadScope = new ThreadScope();
+    private final int poolMaxIdle = Integer.getInteger(TestNexusProperties.POOL_MAX_IDLE, 64);
+    // 正在执行异步 @InitAfter 的对象 -> 就绪 future，完成后立即移除
+    private final Map<BeanIdentity, CompletableFuture<Void>> pendingInitializations = new ConcurrentHashMap<>();
+    private volatile ExecutorService initExecutor;
+
+    private static final Object[] NO_ARGS = new Object[0];
 
     public BeanFactory(Class<?>[] configClasses) {
+        long start = TestNexusMetrics.beginContainerPhase();
         DependencyInjectionChain dependencyInjectionChain = new DependencyInjectionChain();
-        dependencyInjectionChain.process(dependencyInjectionChain, ProcessorEnum.CONFIGURATION_CLASS.getIndex(), configClasses, beanDefinitions);
+        dependencyInjectionChain.process(dependencyInjectionChain, ProcessorEnum.GENERATED_WIRING.getIndex(), configClasses, beanDefinitions);
+        if (start != 0L) {
+            TestNexusMetrics.endContainerPhase(ContainerPhase.CONFIGURATION_CHAIN, describe(configClasses), start);
+        }
+        beanDefinitions.forEach(this::indexBeanDefinition);
+        freeze();
+        if (Boolean.getBoolean(TestNexusProperties.VALIDATE)) {
+            validate();
+        }
+    }
+
+    private static String describe(Class<?>[] configClasses) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (Class<?> configClass : configClasses) {
+            joiner.add(configClass.getSimpleName());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 配置类处理完成后冻结注册表：按名称顺序为每个定义分配 id
+     */
+    private void freeze() {
+        String[] beanNames = beanDefinitions.keySet().toArray(new String[0]);
+        Arrays.sort(beanNames);
+        for (int i = 0; i < beanNames.length; i++) {
+            beanIds.put(beanNames[i], i);
+        }
+        singletonsById = new AtomicReferenceArray<>(beanNames.length);
+        beanNamesById = beanNames;
+    }
+
+    /**
+     * 注册单个 bean 定义，见 {@link #registerBeanDefinitions(Map)}
+     */
+    void registerBeanDefinition(String beanName, BeanDefinition definition) {
+        if (!beanDefinitions.containsKey(beanName)) {
+            registerBeanDefinitions(Collections.singletonMap(beanName, definition));
+        }
+    }
+
+    /**
+     * 批量注册 bean 定义（已存在同名定义时忽略），并增量更新类型索引。
+     * 冻结后的注册（例如测试类）走慢路径：扩容 id 数组，并清空已解析的注入点，因为新定义可能改变按类型解析的结果；
+     * 一批定义只扩容和清空一次
+     */
+    public void registerBeanDefinitions(Map<String, BeanDefinition> definitions) {
+        synchronized (beanIds) {
+            List<String> added = new ArrayList<>(definitions.size());
+            definitions.forEach((beanName, definition) -> {
+                if (beanDefinitions.putIfAbsent(beanName, definition) == null) {
+                    indexBeanDefinition(beanName, definition);
+                    added.add(beanName);
+                }
+            });
+            if (added.isEmpty()) {
+                return;
+            }
+            int firstId = beanNamesById.length;
+            String[] beanNames = Arrays.copyOf(beanNamesById, firstId + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                beanNames[firstId + i] = added.get(i);
+            }
+            AtomicReferenceArray<Object> oldSingletons = singletonsById;
+            AtomicReferenceArray<Object> singletons = new AtomicReferenceArray<>(beanNames.length);
+            for (int i = 0; i < firstId; i++) {
+                singletons.set(i, oldSingletons.get(i));
+            }
+            // 先发布扩容后的数组，再发布 id，拿到新 id 的线程一定能看到足够长的数组
+            singletonsById = singletons;
+            beanNamesById = beanNames;
+            for (int i = 0; i < added.size(); i++) {
+                beanIds.put(added.get(i), firstId + i);
+            }
+            resolvedDependencyIds.clear();
+            resolvedCandidateIds.clear();
+            singletonCollections.clear();
+        }
+    }
+
+    private void indexBeanDefinition(String beanName, BeanDefinition definition) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectTypes(definition.getClazz(), types);
+        for (Class<?> type : types) {
+            typeIndex.compute(type, (key, beanNames) -> {
+                List<String> names = beanNames == null ? new ArrayList<>(1) : new ArrayList<>(beanNames);
+                names.add(beanName);
+                return Collections.unmodifiableList(names);
+            });
+        }
     }
 
+    private void collectTypes(Class<?> type, Set<Class<?>> types) {
+        // Object 对所有 bean 都成立，不进入索引
+        if (type == null || type == Object.class || !types.add(type)) {
+            return;
+        }
+        collectTypes(type.getSuperclass(), types);
+        for (Class<?> anInterface : type.getInterfaces()) {
+            collectTypes(anInterface, types);
+        }
+    }
+
+    /**
+     * 对外获取 bean 视为第一次使用，异步初始化尚未完成时在此等待
+     */
     public Object getBean(String beanName) {
-        return getBean(beanName, true);
+        return awaitInitialization(getBean(beanName, true));
     }
 
     /**
-     * 未解决循环依赖问题
+     * 已创建的单例无锁读取；未创建时按 bean 粒度加锁创建
      * @param beanName
      * @param isSingle
      * @return
      */
     Object getBean(String beanName, boolean isSingle) {
-        if (singletonObjects.containsKey(beanName) && isSingle) {
-            return singletonObjects.get(beanName);
-        } else if (earlySingletonObjects.containsKey(beanName) && isSingle) {
-            return earlySingletonObjects.get(beanName);
+        if (!isSingle) {
+            return createBean(beanName, getBeanDefinition(beanName), false);
+        }
+        Integer beanId = beanIds.get(beanName);
+        if (beanId != null) {
+            Object singleton = singletonsById.get(beanId);
+            if (singleton != null) {
+                return singleton;
+            }
+        }
+        return getOrCreateSingleton(beanName);
+    }
+
+    /**
+     * 按 id 获取 bean，已创建的单例直接从数组读取
+     */
+    private Object getBean(int beanId, boolean isSingle) {
+        if (isSingle) {
+            AtomicReferenceArray<Object> singletons = singletonsById;
+            if (beanId < singletons.length()) {
+                Object singleton = singletons.get(beanId);
+                if (singleton != null) {
+                    return singleton;
+                }
+            }
         }
+        return getBean(beanNamesById[beanId], isSingle);
+    }
+
+    private Object getScopedBean(Object owner, int beanId, ScopeEnum scope) {
+        scope = effectiveScope(scope);
+        switch (scope) {
+            case THREAD:
+                return getThreadBean(beanId);
+            case PROTOTYPE:
+                releaseCollectedOwners();
+                Object bean = getBean(beanId, false);
+                if (owner != null) {
+                    addOwnedBean(owner, beanId, scope, bean);
+                }
+                return bean;
+            case POOLED:
+                return borrowPooledBean(owner, beanId, null);
+            default:
+                return getBean(beanId, true);
+        }
+    }
 
+    /**
+     * 虚拟线程数量不受限且不会复用，线程作用域在虚拟线程上按池化作用域处理：实例与载体线程无关，由使用者借出并归还
+     */
+    private static ScopeEnum effectiveScope(ScopeEnum scope) {
+        return scope == ScopeEnum.THREAD && ThreadScope.isVirtual(Thread.currentThread()) ? ScopeEnum.POOLED : scope;
+    }
+
+    /**
+     * 获取当前线程的实例，首次访问时创建；创建前顺带销毁已结束线程遗留的实例
+     */
+    private Object getThreadBean(int beanId) {
+        Object bean = threadScope.get(beanId);
+        if (bean != null) {
+            return bean;
+        }
+        destroyTerminatedThreadBeans();
+        String beanName = beanNamesById[beanId];
+        bean = createBean(beanName, getBeanDefinition(beanName), false);
+        threadScope.put(beanId, bean);
+        return bean;
+    }
+
+    /**
+     * 销毁所属线程已经结束的线程作用域实例，例如 TestNG 在 <test> 块或测试类结束后回收的工作线程遗留的实例
+     */
+    public void destroyTerminatedThreadBeans() {
+        RuntimeException failure = null;
+        for (Object bean : threadScope.removeTerminated()) {
+            failure = destroyQuietly(bean, failure);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 记录使用者借出的池化对象和带 @Destroy 的原型对象，使用者结束时统一归还或销毁
+     */
+    private void addOwnedBean(Object owner, int beanId, ScopeEnum scope, Object bean) {
+        if (scope == ScopeEnum.POOLED) {
+            ownedBeans.addPooled(owner, beanNamesById[beanId], bean, null);
+        } else if (scope == ScopeEnum.PROTOTYPE && BeanMetadata.forClass(bean.getClass()).hasDestroyMethods()) {
+            ownedBeans.addPrototype(owner, bean);
+        }
+    }
+
+    /**
+     * 借出池化对象并记录在使用者名下，使用者结束时统一归还
+     * @param binding 通过延迟代理借出时为代理的 {@link LazyTarget}，归还时解除绑定
+     */
+    private Object borrowPooledBean(Object owner, int beanId, LazyTarget binding) {
+        releaseCollectedOwners();
+        Object bean = borrowPooledBean(beanNamesById[beanId]);
+        if (owner != null) {
+            ownedBeans.addPooled(owner, beanNamesById[beanId], bean, binding);
+        }
+        return bean;
+    }
+
+    /**
+     * 从对象池借出实例，池为空时按原型创建
+     */
+    private Object borrowPooledBean(String beanName) {
+        BeanPool pool = pools.computeIfAbsent(beanName, key -> new BeanPool(poolMaxIdle));
+        Object bean = pool.poll();
+        if (bean == null) {
+            bean = createBean(beanName, getBeanDefinition(beanName), false);
+            pool.getMetrics().recordCreated();
+        }
+        return bean;
+    }
+
+    /**
+     * 使用者结束：借出的池化对象执行 @Reset 后归还（重置失败或池已满的对象被销毁），
+     * 持有的原型对象执行 @Destroy
+     */
+    public void releaseOwnedBeans(Object owner) {
+        release(ownedBeans.remove(owner));
+    }
+
+    /**
+     * 使用者的一次调用结束：只归还通过延迟代理借出的池化对象，代理下一次调用时重新借出；
+     * 直接注入的池化对象和原型对象仍被使用者引用，留到 {@link #releaseOwnedBeans} 处理
+     */
+    public void releaseRebindableBeans(Object owner) {
+        release(ownedBeans.removeRebindable(owner));
+    }
+
+    /**
+     * 使用者未被显式释放就已被回收时，由弱引用兜底处理它遗留的对象
+     */
+    private void releaseCollectedOwners() {
+        for (OwnedBeanRegistry.OwnedBeans beans : ownedBeans.removeCollected()) {
+            release(beans);
+        }
+    }
+
+    private void release(OwnedBeanRegistry.OwnedBeans beans) {
+        if (beans == null) {
+            return;
+        }
+        RuntimeException failure = null;
+        for (OwnedBeanRegistry.PooledBean pooledBean : snapshot(beans.pooled)) {
+            BeanPool pool = pools.get(pooledBean.beanName);
+            if (pooledBean.binding != null) {
+                pooledBean.binding.clear(pooledBean.bean);
+            }
+            try {
+                resetMethodExecute(pooledBean.bean);
+            } catch (RuntimeException e) {
+                pool.evict();
+                failure = failure == null ? e : failure;
+                failure = destroyQuietly(pooledBean.bean, failure);
+                continue;
+            }
+            if (!pool.offer(pooledBean.bean)) {
+                failure = destroyQuietly(pooledBean.bean, failure);
+            }
+        }
+        for (Object prototype : snapshot(beans.prototypes)) {
+            failure = destroyQuietly(prototype, failure);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static <T> List<T> snapshot(List<T> list) {
+        synchronized (list) {
+            return new ArrayList<>(list);
+        }
+    }
+
+    private RuntimeException destroyQuietly(Object bean, RuntimeException failure) {
+        try {
+            destroyBean(bean);
+        } catch (RuntimeException e) {
+            return failure == null ? e : failure;
+        }
+        return failure;
+    }
+
+    /**
+     * 销毁单个对象：先释放它持有的池化对象和原型对象，再执行它自身的 @Destroy
+     */
+    public void destroyBean(Object bean) {
+        destroyBean(determineBeanName(bean.getClass()), bean);
+    }
+
+    private void destroyBean(String beanName, Object bean) {
+        CompletableFuture<Void> initialization = getPendingInitialization(bean);
+        if (initialization != null) {
+            // 等异步初始化结束再销毁，初始化失败的对象同样执行 @Destroy
+            initialization.exceptionally(e -> null).join();
+        }
+        releaseOwnedBeans(bean);
+        List<Method> destroyMethods = BeanMetadata.forClass(bean.getClass()).getDestroyMethods();
+        if (destroyMethods.isEmpty()) {
+            return;
+        }
+        long start = TestNexusMetrics.beginBeanPhase();
+        for (Method method : destroyMethods) {
+            // 如果用户写了销毁前的逻辑，此时执行
+            if (method.getParameterCount() > 0) {
+                throw new RuntimeException("the methods marked with the @Destroy annotation must not have parameters");
+            }
+            try {
+                method.invoke(bean);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("TestNexus encounters any issues, please contact the author", e);
+            }
+        }
+        TestNexusMetrics.endBeanPhase(beanName, BeanPhase.DESTROY, singletonObjects.get(beanName) == bean, start);
+    }
+
+    /**
+     * 容器关闭前处理所有作用域对象：释放全部使用者的登记，销毁各线程持有的实例，再销毁对象池中的空闲对象
+     */
+    void destroyScopedBeans() {
+        RuntimeException failure = null;
+        for (OwnedBeanRegistry.OwnedBeans beans : ownedBeans.removeAll()) {
+            try {
+                release(beans);
+            } catch (RuntimeException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        for (Object bean : threadScope.removeAll()) {
+            failure = destroyQuietly(bean, failure);
+        }
+        for (BeanPool pool : pools.values()) {
+            Object bean;
+            while ((bean = pool.poll()) != null) {
+                failure = destroyQuietly(bean, failure);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 各池化 bean 的对象池统计
+     */
+    public Map<String, PoolMetrics> getPoolMetrics() {
+        Map<String, PoolMetrics> metrics = new TreeMap<>();
+        pools.forEach((beanName, pool) -> metrics.put(beanName, pool.getMetrics()));
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    private void cacheSingleton(String beanName, Object singleton) {
+        Integer beanId = beanIds.get(beanName);
+        AtomicReferenceArray<Object> singletons = singletonsById;
+        // 扩容过程中写入旧数组的单例可能丢失，之后会从 singletonObjects 中重新补回
+        if (beanId != null && beanId < singletons.length()) {
+            singletons.set(beanId, singleton);
+        }
+    }
+
+    private Object getOrCreateSingleton(String beanName) {
+        ReentrantLock lock = creationLocks.computeIfAbsent(beanName, key -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            // 其他线程正在创建该单例，若双方互相等待则直接使用对方提前暴露的对象
+            Object earlySingleton = awaitCreation(beanName, lock);
+            if (earlySingleton != null) {
+                return earlySingleton;
+            }
+        }
+        try {
+            Object singleton = singletonObjects.get(beanName);
+            if (singleton != null) {
+                cacheSingleton(beanName, singleton);
+                return singleton;
+            }
+            if (lock.getHoldCount() > 1) {
+                // 同一线程重入：循环依赖，返回提前暴露的对象
+                Object earlySingleton = earlySingletonObjects.get(beanName);
+                if (earlySingleton == null) {
+                    throw new BeanCreationException("Circular dependency on bean '" + beanName + "' before it could be exposed, constructor injection cycles need @Lazy on one side");
+                }
+                return earlySingleton;
+            }
+            creatingThreads.put(beanName, Thread.currentThread());
+            try {
+                return createBean(beanName, getBeanDefinition(beanName), true);
+            } finally {
+                creatingThreads.remove(beanName);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待其他线程创建完成。先登记等待关系再沿等待链检查，保证互相等待的两个线程至少有一方能发现循环
+     * @return 检测到跨线程循环等待时返回提前暴露的对象，否则获取到锁后返回 null
+     */
+    private Object awaitCreation(String beanName, ReentrantLock lock) {
+        Thread current = Thread.currentThread();
+        waitingFor.put(current, beanName);
+        try {
+            String waitingBean = beanName;
+            for (int depth = 0; depth < creatingThreads.size() + 1; depth++) {
+                Thread owner = creatingThreads.get(waitingBean);
+                if (owner == null) {
+                    break;
+                }
+                if (owner == current) {
+                    Object earlySingleton = earlySingletonObjects.get(beanName);
+                    if (earlySingleton == null) {
+                        throw new BeanCreationException("Circular dependency on bean '" + beanName + "' across threads before it could be exposed");
+                    }
+                    return earlySingleton;
+                }
+                waitingBean = waitingFor.get(owner);
+                if (waitingBean == null) {
+                    break;
+                }
+            }
+            lock.lock();
+            return null;
+        } finally {
+            waitingFor.remove(current);
+        }
+    }
+
+    private BeanDefinition getBeanDefinition(String beanName) {
         BeanDefinition definition = beanDefinitions.get(beanName);
         if (definition == null) {
             throw new BeanCreationException("No such bean: " + beanName);
         }
+        return definition;
+    }
 
+    private Object createBean(String beanName, BeanDefinition definition, boolean isSingle) {
+        long start = TestNexusMetrics.beginBeanPhase();
         Object bean = createBeanInstance(definition);
-        // 初始化对象时将该对象放入销毁栈中，当对象开始销毁时再依次销毁
+        TestNexusMetrics.endBeanPhase(beanName, BeanPhase.INSTANTIATE, isSingle, start);
+        BeanMetadata metadata = BeanMetadata.forClass(bean.getClass());
+        if (!isSingle) {
+            // 原型不进入销毁栈，由注入它的使用者负责在结束时销毁
+            initBeforeMethodExecute(beanName, bean, metadata, false);
+            applyDependencies(beanName, bean, metadata, false);
+            initAfterMethodExecute(beanName, bean, metadata, false);
+            return bean;
+        }
+        // 初始化单例时将该对象放入销毁栈中，当对象开始销毁时再依次销毁
         destroyStack.addLast(bean);
         // 准备执行对象初始化前用户自定义的逻辑
-        initBeforeMethodExecute(bean);
+        initBeforeMethodExecute(beanName, bean, metadata, true);
         earlySingletonObjects.put(beanName, bean);
-        applyDependencies(bean, definition);
-
-        if (isSingle) {
+        try {
+            applyDependencies(beanName, bean, metadata, true);
+            initAfterMethodExecute(beanName, bean, metadata, true);
+            // 完全初始化后才对其他线程可见
             singletonObjects.put(beanName, bean);
+            cacheSingleton(beanName, bean);
+        } finally {
+            earlySingletonObjects.remove(beanName);
         }
-        earlySingletonObjects.remove(beanName);
-        initAfterMethodExecute(bean);
         return bean;
     }
 
-    private Object createBeanInstance(BeanDefinition definition) {
+    /**
+     * 按依赖逆序并发销毁所有单例：依赖它的 bean 全部销毁后才销毁自身，互不依赖的分支同时进行。
+     * 每个 bean 的 @Destroy 有超时限制，所有失败汇总后统一抛出 {@link BeanDestructionException}
+     */
+    public void destroySingletons() {
+        Map<Object, String> beanNames = new IdentityHashMap<>();
+        singletonObjects.forEach((beanName, bean) -> beanNames.put(bean, beanName));
+        // 销毁栈中创建失败的对象没有登记为单例，按对象身份命名，不参与依赖排序
+        Map<String, Object> beans = new LinkedHashMap<>();
+        Object bean;
+        while ((bean = destroyStack.pollLast()) != null) {
+            String beanName = beanNames.get(bean);
+            if (beanName == null) {
+                beanName = bean.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(bean));
+            }
+            beans.put(beanName, bean);
+        }
+        if (beans.isEmpty()) {
+            return;
+        }
+        long timeoutMillis = Long.getLong(TestNexusProperties.DESTROY_TIMEOUT, 30_000L);
+        int parallelism = Integer.getInteger(TestNexusProperties.DESTROY_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        Map<String, Throwable> failures = new SingletonDestroyer(buildDependencyGraph().reverse(), beans,
+                this::destroyBean, timeoutMillis, parallelism).destroy();
+        ExecutorService executor = initExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (!failures.isEmpty()) {
+            throw new BeanDestructionException(failures);
+        }
+    }
+
+    static ThreadFactory daemonThreadFactory(String namePrefix) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        };
+    }
+
+    /**
+     * 根据 @Autowired 注入点和 @Bean 工厂方法构建当前所有定义的依赖图，无法解析的注入点不产生边，
+     * 留到真正创建时再报错
+     */
+    public DependencyGraph buildDependencyGraph() {
+        return buildDependencyGraph(true, false);
+    }
+
+    /**
+     * @param includeLazy 是否包含 @Lazy 依赖；创建顺序不需要，销毁顺序需要
+     * @param singletonOnly 是否只包含按单例注入的依赖；预创建只沿这些边进行，原型、池化、线程作用域的依赖不会用到单例副本
+     */
+    private DependencyGraph buildDependencyGraph(boolean includeLazy, boolean singletonOnly) {
+        DependencyGraph graph = new DependencyGraph();
+        beanDefinitions.forEach((beanName, definition) -> {
+            graph.addNode(beanName);
+            if (definition.getFactoryBeanName() != null) {
+                addGraphEdge(graph, beanName, definition.getFactoryBeanName());
+            }
+            BeanMetadata metadata = BeanMetadata.forClass(definition.getClazz());
+            List<InjectionPoint> injectionPoints = new ArrayList<>(metadata.getFieldInjectionPoints());
+            injectionPoints.addAll(metadata.getMethodInjectionPoints());
+            if (metadata.getConstructorInjectionPoint() != null) {
+                injectionPoints.add(metadata.getConstructorInjectionPoint());
+            }
+            for (InjectionPoint injectionPoint : injectionPoints) {
+                if (singletonOnly && injectionPoint.getScope() != ScopeEnum.SINGLETON) {
+                    continue;
+                }
+                Class<?>[] dependencyTypes = injectionPoint.getDependencyTypes();
+                for (int i = 0; i < dependencyTypes.length; i++) {
+                    if (!includeLazy && isLazyDependency(injectionPoint, i)) {
+                        // 延迟注入的依赖在注入时并不创建，不参与创建顺序
+                        continue;
+                    }
+                    try {
+                        for (String dependencyName : resolveDependencyNames(injectionPoint, i)) {
+                            addGraphEdge(graph, beanName, dependencyName);
+                        }
+                    } catch (RuntimeException e) {
+                        // 缺失或有歧义的依赖不影响建图
+                    }
+                }
+            }
+        });
+        return graph;
+    }
+
+    /**
+     * 校验全部 bean 定义，见 {@link #validate(Collection)}
+     */
+    public void validate() {
+        validate(new ArrayList<>(beanDefinitions.keySet()));
+    }
+
+    /**
+     * 在创建任何 bean 之前校验给定的定义：按定义逐个解析注入点，报告缺失和有歧义的依赖、缺失的配置类、带参数的生命周期方法，
+     * 以及无法通过提前暴露打破的循环依赖。各定义的解析并行进行，全部问题一次性以 {@link BeanValidationException} 抛出
+     */
+    public void validate(Collection<String> beanNames) {
+        long start = TestNexusMetrics.beginContainerPhase();
+        DependencyEdges edges = new DependencyEdges();
+        Queue<String> problems = new ConcurrentLinkedQueue<>();
+        beanNames.parallelStream().forEach(beanName -> validateDefinition(beanName, edges, problems));
+        List<String> sortedProblems = new ArrayList<>(problems);
+        Collections.sort(sortedProblems);
+        for (List<String> cycle : edges.findUnresolvableCycles()) {
+            sortedProblems.add("Unresolvable circular dependency: " + String.join(" -> ", cycle));
+        }
+        if (start != 0L) {
+            TestNexusMetrics.endContainerPhase(ContainerPhase.VALIDATION, beanNames.size() + " beans", start);
+        }
+        if (!sortedProblems.isEmpty()) {
+            throw new BeanValidationException(sortedProblems);
+        }
+    }
+
+    private void validateDefinition(String beanName, DependencyEdges edges, Queue<String> problems) {
+        BeanDefinition definition = beanDefinitions.get(beanName);
+        if (definition == null) {
+            return;
+        }
+        if (definition.getFactoryBeanName() != null) {
+            if (beanDefinitions.containsKey(definition.getFactoryBeanName())) {
+                edges.add(beanName, definition.getFactoryBeanName(), false, false);
+            } else {
+                problems.add(beanName + ": configuration bean '" + definition.getFactoryBeanName() + "' declaring its @Bean method is not registered");
+            }
+        }
+        BeanMetadata metadata;
         try {
-            if (definition.hasMethod()) {
-                Method factoryMethod = definition.getFactoryMethod();
-                Object targetObject = getFactoryMethodTarget(definition);
-                return factoryMethod.invoke(targetObject);
+            metadata = BeanMetadata.forClass(definition.getClazz());
+        } catch (RuntimeException e) {
+            problems.add(beanName + ": failed to resolve injection metadata: " + e);
+            return;
+        }
+        if (metadata.getConstructorInjectionPoint() != null) {
+            validateInjectionPoint(beanName, metadata.getConstructorInjectionPoint(), true, edges, problems);
+        }
+        for (InjectionPoint injectionPoint : metadata.getFieldInjectionPoints()) {
+            validateInjectionPoint(beanName, injectionPoint, false, edges, problems);
+        }
+        for (InjectionPoint injectionPoint : metadata.getMethodInjectionPoints()) {
+            validateInjectionPoint(beanName, injectionPoint, false, edges, problems);
+        }
+        validateLifecycleMethods(beanName, "@InitBefore", metadata.getInitBeforeMethods(), problems);
+        validateLifecycleMethods(beanName, "@InitAfter", metadata.getInitAfterMethods(), problems);
+        validateLifecycleMethods(beanName, "@InitAfter", metadata.getAsyncInitAfterMethods(), problems);
+        validateLifecycleMethods(beanName, "@Destroy", metadata.getDestroyMethods(), problems);
+        validateLifecycleMethods(beanName, "@Reset", metadata.getResetMethods(), problems);
+    }
+
+    private void validateInjectionPoint(String beanName, InjectionPoint injectionPoint, boolean constructor,
+                                        DependencyEdges edges, Queue<String> problems) {
+        Class<?>[] dependencyTypes = injectionPoint.getDependencyTypes();
+        for (int i = 0; i < dependencyTypes.length; i++) {
+            if (injectionPoint.getKind(i) != DependencyKindEnum.SINGLE) {
+                try {
+                    for (String dependencyName : resolveCandidateNames(injectionPoint, i)) {
+                        if (!isLazyDependency(injectionPoint, i)) {
+                            edges.add(beanName, dependencyName, constructor, injectionPoint.getScope() != ScopeEnum.SINGLETON);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    problems.add(beanName + " (" + describe(injectionPoint) + "): " + e.getMessage());
+                }
+                continue;
+            }
+            Class<?> type = dependencyTypes[i];
+            String dependencyName;
+            if (type.isInterface() && injectionPoint.getName().isEmpty()) {
+                List<String> candidates = typeIndex.getOrDefault(type, Collections.emptyList());
+                if (candidates.size() != 1) {
+                    problems.add(beanName + " (" + describe(injectionPoint) + "): "
+                            + (candidates.isEmpty() ? "no bean implements " + type.getName()
+                            : "ambiguous dependency " + type.getName() + ", candidates " + candidates + ", use @Autowired(name = ...)"));
+                    continue;
+                }
+                dependencyName = candidates.get(0);
             } else {
-                Constructor<?> constructor = definition.getConstructor();
-                constructor.setAccessible(true);
-                return constructor.newInstance();
+                dependencyName = getBeanName(injectionPoint.getName(), type);
+                if (!beanDefinitions.containsKey(dependencyName)) {
+                    problems.add(beanName + " (" + describe(injectionPoint) + "): no bean named '" + dependencyName + "' of type " + type.getName());
+                    continue;
+                }
             }
-        } catch (Exception e) {
-            throw new BeanCreationException("Error creating bean instance", e);
+            // 延迟依赖在注入时并不创建，不会形成创建环
+            if (!isLazyDependency(injectionPoint, i)) {
+                edges.add(beanName, dependencyName, constructor, injectionPoint.getScope() != ScopeEnum.SINGLETON);
+            }
+        }
+    }
+
+    private static String describe(InjectionPoint injectionPoint) {
+        Member member = injectionPoint.getMember();
+        if (member == null) {
+            return "generated injection point";
+        }
+        String owner = member.getDeclaringClass().getSimpleName();
+        if (member instanceof Constructor) {
+            return owner + " constructor";
+        }
+        return owner + "." + member.getName() + (member instanceof Method ? "()" : "");
+    }
+
+    private static void validateLifecycleMethods(String beanName, String annotation, List<Method> methods, Queue<String> problems) {
+        for (Method method : methods) {
+            if (method.getParameterCount() > 0) {
+                problems.add(beanName + ": " + annotation + " method " + method.getName() + " must not have parameters");
+            }
+        }
+    }
+
+    /**
+     * 校验时收集的创建依赖（不含延迟依赖），并行写入
+     */
+    private static final class DependencyEdges {
+
+        // 依赖方 -> 创建时需要的被依赖方
+        private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+        // 构造器参数：依赖方在被依赖方就绪前无法实例化，也就无法提前暴露
+        private final Map<String, Set<String>> constructorDependencies = new ConcurrentHashMap<>();
+        // 非单例注入：每次注入都新建对象，提前暴露的对象无法复用
+        private final Map<String, Set<String>> nonSingletonDependencies = new ConcurrentHashMap<>();
+
+        void add(String beanName, String dependencyName, boolean constructor, boolean nonSingleton) {
+            dependencies.computeIfAbsent(beanName, key -> ConcurrentHashMap.newKeySet()).add(dependencyName);
+            if (constructor) {
+                constructorDependencies.computeIfAbsent(beanName, key -> ConcurrentHashMap.newKeySet()).add(dependencyName);
+            }
+            if (nonSingleton) {
+                nonSingletonDependencies.computeIfAbsent(beanName, key -> ConcurrentHashMap.newKeySet()).add(dependencyName);
+            }
+        }
+
+        /**
+         * 两类环无法打破：环上有构造器参数时，从该 bean 开始创建就拿不到提前暴露的对象；环上全是非单例注入时会无限新建。
+         * 同一组 bean 构成的环只报告一次
+         */
+        List<List<String>> findUnresolvableCycles() {
+            Map<Set<String>, List<String>> cycles = new LinkedHashMap<>();
+            for (String beanName : new TreeSet<>(constructorDependencies.keySet())) {
+                for (String dependencyName : new TreeSet<>(constructorDependencies.get(beanName))) {
+                    addCycle(cycles, beanName, findPath(dependencies, dependencyName, beanName));
+                }
+            }
+            for (String beanName : new TreeSet<>(nonSingletonDependencies.keySet())) {
+                addCycle(cycles, beanName, findPath(nonSingletonDependencies, beanName, beanName));
+            }
+            return new ArrayList<>(cycles.values());
+        }
+
+        private static void addCycle(Map<Set<String>, List<String>> cycles, String beanName, List<String> path) {
+            if (path == null) {
+                return;
+            }
+            List<String> cycle = new ArrayList<>(path.size() + 1);
+            cycle.add(beanName);
+            cycle.addAll(path.get(0).equals(beanName) ? path.subList(1, path.size()) : path);
+            cycles.putIfAbsent(new TreeSet<>(cycle), cycle);
+        }
+
+        /**
+         * 广度优先找出从 from 到 to 的最短路径（包括两端），不可达时返回 null；from 与 to 相同时路径至少经过一条边
+         */
+        private static List<String> findPath(Map<String, Set<String>> graph, String from, String to) {
+            Map<String, String> previous = new HashMap<>();
+            Deque<String> pending = new ArrayDeque<>();
+            pending.add(from);
+            previous.put(from, null);
+            while (!pending.isEmpty()) {
+                String beanName = pending.poll();
+                for (String dependencyName : new TreeSet<>(graph.getOrDefault(beanName, Collections.emptySet()))) {
+                    if (dependencyName.equals(to)) {
+                        LinkedList<String> path = new LinkedList<>();
+                        path.addFirst(to);
+                        for (String step = beanName; step != null; step = previous.get(step)) {
+                            path.addFirst(step);
+                        }
+                        return path;
+                    }
+                    if (!previous.containsKey(dependencyName)) {
+                        previous.put(dependencyName, beanName);
+                        pending.add(dependencyName);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 导出依赖图（包括延迟注入的依赖），文件扩展名为 .json 时导出 JSON，否则导出 Graphviz DOT
+     */
+    public void exportDependencyGraph(String file) {
+        Map<String, Class<?>> beanTypes = new HashMap<>();
+        beanDefinitions.forEach((beanName, definition) -> beanTypes.put(beanName, definition.getClazz()));
+        Path path = Paths.get(file);
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            Files.write(path, DependencyGraphExporter.export(file, buildDependencyGraph(), beanTypes).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export dependency graph to " + file, e);
+        }
+    }
+
+    private void addGraphEdge(DependencyGraph graph, String beanName, String dependencyName) {
+        if (beanDefinitions.containsKey(dependencyName)) {
+            graph.addEdge(beanName, dependencyName);
+        }
+    }
+
+    /**
+     * 按依赖拓扑顺序并发创建测试类以外的所有单例：每个 bean 在其依赖全部创建完成后提交到线程池，
+     * 互不依赖的分支同时进行，总耗时取决于依赖图的关键路径。循环依赖中的回边被忽略，交由 getBean 处理。
+     * 只以原型、池化、线程作用域被注入的 bean 不会用到单例，也不预创建
+     */
+    public void preInstantiateSingletons() {
+        DependencyGraph graph = buildDependencyGraph(false, true);
+        Set<String> beanNames = new LinkedHashSet<>(graph.getBeanNames());
+        // 测试类由各上下文的 TestNexusObjectFactory 单独创建，不作为单例预创建
+        beanNames.removeIf(beanName -> beanDefinitions.get(beanName).getClazz().isAnnotationPresent(TestNexus.class));
+        beanNames.removeAll(findScopedOnlyBeans());
+        preInstantiateSingletons(graph, beanNames);
+    }
+
+    /**
+     * 被注入过、但没有任何一处按单例注入（包括延迟注入）的 bean
+     */
+    private Set<String> findScopedOnlyBeans() {
+        DependencyGraph graph = buildDependencyGraph();
+        Set<String> scopedOnly = new HashSet<>();
+        for (String beanName : graph.getBeanNames()) {
+            scopedOnly.addAll(graph.getDependencies(beanName));
+        }
+        DependencyGraph lazySingletonGraph = buildDependencyGraph(true, true);
+        for (String beanName : lazySingletonGraph.getBeanNames()) {
+            scopedOnly.removeAll(lazySingletonGraph.getDependencies(beanName));
         }
+        return scopedOnly;
     }
 
-    private Object getFactoryMethodTarget(BeanDefinition definition) {
-        if (Modifier.isStatic(definition.getFactoryMethod().getModifiers())) {
-            // 静态方法无需目标对象
+    /**
+     * 只创建从给定根 bean（通常是本次运行的测试类）沿单例依赖可达的单例，根本身不创建。
+     * 延迟注入的依赖不在创建顺序中，第一次使用时才创建
+     */
+    public void preInstantiateSingletons(Collection<String> rootBeanNames) {
+        DependencyGraph graph = buildDependencyGraph(false, true);
+        Set<String> beanNames = new LinkedHashSet<>();
+        for (String rootBeanName : rootBeanNames) {
+            beanNames.addAll(graph.getDependencies(rootBeanName));
+        }
+        beanNames = graph.reachableFrom(beanNames);
+        beanNames.removeAll(rootBeanNames);
+        preInstantiateSingletons(graph, beanNames);
+    }
+
+    /**
+     * 从给定根 bean 出发（包括延迟注入的依赖）不可达的 bean 定义，即本次运行不会用到的定义，按名称排序
+     */
+    public Set<String> findUnreachableBeans(Collection<String> rootBeanNames) {
+        DependencyGraph graph = buildDependencyGraph();
+        Set<String> unreachable = new TreeSet<>(graph.getBeanNames());
+        unreachable.removeAll(graph.reachableFrom(rootBeanNames));
+        return unreachable;
+    }
+
+    private void preInstantiateSingletons(DependencyGraph graph, Collection<String> beanNames) {
+        int parallelism = Integer.getInteger(TestNexusProperties.EAGER_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism), daemonThreadFactory("test-nexus-eager-"));
+        try {
+            Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+            Set<String> visiting = new HashSet<>();
+            for (String beanName : beanNames) {
+                scheduleCreation(beanName, graph, futures, visiting, executor);
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+            // 异步初始化也全部完成后才算预创建结束
+            for (CompletableFuture<Void> future : new ArrayList<>(pendingInitializations.values())) {
+                awaitInitialization(future);
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BeanCreationException) {
+                throw (BeanCreationException) cause;
+            }
+            throw new BeanCreationException("Eager singleton initialization failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> scheduleCreation(String beanName, DependencyGraph graph, Map<String, CompletableFuture<Void>> futures,
+                                                     Set<String> visiting, ExecutorService executor) {
+        CompletableFuture<Void> future = futures.get(beanName);
+        if (future != null) {
+            return future;
+        }
+        if (!visiting.add(beanName)) {
+            // 回边，形成环
             return null;
         }
-        // 非静态工厂方法需获取配置类实例（假设配置类已注册为单例）
-        String configBeanName = Introspector.decapitalize(definition.getFactoryMethod().getDeclaringClass().getSimpleName());
-        // 从容器获取配置类实例
-        return getBean(configBeanName);
+        List<CompletableFuture<Void>> dependencyFutures = new ArrayList<>();
+        for (String dependencyName : graph.getDependencies(beanName)) {
+            CompletableFuture<Void> dependencyFuture = scheduleCreation(dependencyName, graph, futures, visiting, executor);
+            if (dependencyFuture != null) {
+                dependencyFutures.add(dependencyFuture);
+            }
+        }
+        visiting.remove(beanName);
+        future = CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> getBean(beanName, true), executor);
+        futures.put(beanName, future);
+        return future;
+    }
+
+    private Object createBeanInstance(BeanDefinition definition) {
+        if (!definition.hasMethod()) {
+            InjectionPoint constructorInjectionPoint = BeanMetadata.forClass(definition.getClazz()).getConstructorInjectionPoint();
+            if (constructorInjectionPoint != null) {
+                return instantiateWithConstructor(constructorInjectionPoint);
+            }
+        }
+        try {
+            // 非静态工厂方法需获取配置类实例（配置类已注册为单例），静态方法与组件类无需目标对象
+            Object targetObject = definition.getFactoryBeanName() != null ? getBean(definition.getFactoryBeanName()) : null;
+            return definition.getInstantiator().invoke(targetObject, NO_ARGS);
+        } catch (Throwable e) {
+            throw new BeanCreationException("Error creating bean instance", e);
+        }
+    }
+
+    /**
+     * 先解析全部构造器参数并等待其异步初始化完成，再调用 @Autowired 构造器一次性创建对象。
+     * 对象创建前还没有使用者可以登记，非单例参数在创建后再记到新对象名下；延迟参数通过持有者在首次调用时取到新对象
+     */
+    private Object instantiateWithConstructor(InjectionPoint injectionPoint) {
+        Class<?>[] dependencyTypes = injectionPoint.getDependencyTypes();
+        Object[] args = new Object[dependencyTypes.length];
+        int[] beanIds = new int[dependencyTypes.length];
+        AtomicReference<Object> owner = new AtomicReference<>();
+        ScopeEnum scope = injectionPoint.getScope();
+        for (int i = 0; i < args.length; i++) {
+            if (injectionPoint.getKind(i) != DependencyKindEnum.SINGLE) {
+                int index = i;
+                int[] candidateIds = resolveCandidateIds(injectionPoint, index);
+                args[i] = isLazyDependency(injectionPoint, i)
+                        ? LazyProxyFactory.createProxy(dependencyTypes[i], () -> collectDependency(owner.get(), injectionPoint, index, candidateIds, null))
+                        : collectDependency(null, injectionPoint, index, candidateIds, null);
+                continue;
+            }
+            int beanId = resolveDependencyId(injectionPoint, i);
+            beanIds[i] = beanId;
+            if (isThreadScopedProxy(injectionPoint, i)) {
+                args[i] = createThreadScopedProxy(dependencyTypes[i], beanId, owner::get);
+            } else if (isLazyDependency(injectionPoint, i) && scope == ScopeEnum.POOLED) {
+                args[i] = createPooledProxy(dependencyTypes[i], beanId, owner::get);
+            } else if (isLazyDependency(injectionPoint, i)) {
+                args[i] = LazyProxyFactory.createProxy(dependencyTypes[i],
+                        () -> awaitInitialization(getScopedBean(owner.get(), beanId, scope)));
+            } else {
+                args[i] = awaitInitialization(getScopedBean(null, beanId, scope));
+            }
+        }
+        Object bean;
+        try {
+            bean = injectionPoint.getInvoker().invoke(null, args);
+        } catch (Throwable e) {
+            throw new BeanCreationException("Constructor injection failed", e);
+        }
+        owner.set(bean);
+        // 参数在当前线程解析，虚拟线程上的线程作用域参数按池化对象登记
+        ScopeEnum ownedScope = effectiveScope(scope);
+        if (ownedScope != ScopeEnum.SINGLETON) {
+            for (int i = 0; i < args.length; i++) {
+                if (isLazyDependency(injectionPoint, i) || isThreadScopedProxy(injectionPoint, i)) {
+                    continue;
+                }
+                if (injectionPoint.getKind(i) == DependencyKindEnum.SINGLE) {
+                    addOwnedBean(bean, beanIds[i], ownedScope, args[i]);
+                    continue;
+                }
+                // 集合中元素的顺序与候选 id 一致
+                Iterator<Object> elements = elementsOf(injectionPoint.getKind(i), args[i]).iterator();
+                for (int candidateId : resolveCandidateIds(injectionPoint, i)) {
+                    addOwnedBean(bean, candidateId, ownedScope, elements.next());
+                }
+            }
+        }
+        return bean;
     }
 
-    private void applyDependencies(Object bean, BeanDefinition definition) {
-        Class<?> clazz = bean.getClass();
-        // 构造函数注入
-        processConstructorInjection(clazz, bean);
+    /**
+     * 注入全部依赖；依赖中仍在异步初始化的，等全部注入完成后统一等待，互不相关的慢初始化可以重叠进行
+     */
+    private void applyDependencies(String beanName, Object bean, BeanMetadata metadata, boolean isSingle) {
+        long start = TestNexusMetrics.beginBeanPhase();
+        List<CompletableFuture<Void>> readiness = new ArrayList<>(0);
+        // 构造器参数已在实例化时注入
         // 字段注入
-        processFieldInjection(clazz, bean);
+        processFieldInjection(metadata, bean, readiness);
         // 方法注入
-        processMethodInjection(clazz, bean);
+        processMethodInjection(metadata, bean, readiness);
+        for (CompletableFuture<Void> future : readiness) {
+            awaitInitialization(future);
+        }
+        TestNexusMetrics.endBeanPhase(beanName, BeanPhase.INJECT, isSingle, start);
     }
 
-    private void processConstructorInjection(Class<?> clazz, Object bean) {
-        Constructor<?>[] declaredConstructors = clazz.getDeclaredConstructors();
-        Arrays.stream(clazz.getDeclaredConstructors())
-                .filter(c -> c.isAnnotationPresent(Autowired.class))
-                .findFirst()
-                .ifPresent(constructor -> {
-                    Autowired autowired = constructor.getAnnotation(Autowired.class);
-                    Object[] args = getDependencyArgs(constructor.getParameterTypes(), autowired);
-                    invokeConstructor(bean, constructor, args);
-                });
+    private void processFieldInjection(BeanMetadata metadata, Object bean, List<CompletableFuture<Void>> readiness) {
+        for (InjectionPoint injectionPoint : metadata.getFieldInjectionPoints()) {
+            Object dependency = getDependency(bean, injectionPoint, 0, readiness);
+            injectField(bean, injectionPoint, dependency);
+        }
     }
 
-    private void processFieldInjection(Class<?> clazz, Object bean) {
-        List<Field> fields = Arrays.stream(clazz.getDeclaredFields())
-                .filter(f -> f.isAnnotationPresent(Autowired.class)).collect(Collectors.toList());
-        for (Field field : fields) {
-            Autowired autowired = field.getAnnotation(Autowired.class);
-            Object dependency = getDependency(field.getType(), autowired);
-            injectField(bean, field, dependency);
+    private void processMethodInjection(BeanMetadata metadata, Object bean, List<CompletableFuture<Void>> readiness) {
+        for (InjectionPoint injectionPoint : metadata.getMethodInjectionPoints()) {
+            Object[] args = getDependencyArgs(bean, injectionPoint, readiness);
+            invokeMethod(bean, injectionPoint, args);
         }
     }
 
-    private void processMethodInjection(Class<?> clazz, Object bean) {
-        Arrays.stream(clazz.getDeclaredMethods())
-                .filter(m -> m.isAnnotationPresent(Autowired.class) && m.getParameterCount() > 0)
-                .forEach(method -> {
-                    Autowired autowired = method.getAnnotation(Autowired.class);
-                    Object[] args = getDependencyArgs(method.getParameterTypes(), autowired);
-                    invokeMethod(bean, method, args);
-                });
+    private Object[] getDependencyArgs(Object owner, InjectionPoint injectionPoint, List<CompletableFuture<Void>> readiness) {
+        Object[] args = new Object[injectionPoint.getDependencyTypes().length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = getDependency(owner, injectionPoint, i, readiness);
+        }
+        return args;
     }
 
-    private Object[] getDependencyArgs(Class<?>[] parameterTypes, Autowired autowired) {
-        return Arrays.stream(parameterTypes)
-                .map(type -> getDependency(type, autowired))
-                .toArray();
+    private Object getDependency(Object owner, InjectionPoint injectionPoint, int index, List<CompletableFuture<Void>> readiness) {
+        if (injectionPoint.getKind(index) != DependencyKindEnum.SINGLE) {
+            int[] beanIds = resolveCandidateIds(injectionPoint, index);
+            if (isLazyDependency(injectionPoint, index)) {
+                return LazyProxyFactory.createProxy(injectionPoint.getDependencyTypes()[index],
+                        () -> collectDependency(owner, injectionPoint, index, beanIds, null));
+            }
+            return collectDependency(owner, injectionPoint, index, beanIds, readiness);
+        }
+        ScopeEnum scope = injectionPoint.getScope();
+        // bean 在注入时就解析，缺失或有歧义的依赖仍然立即报错
+        int beanId = resolveDependencyId(injectionPoint, index);
+        if (isThreadScopedProxy(injectionPoint, index)) {
+            return createThreadScopedProxy(injectionPoint.getDependencyTypes()[index], beanId, () -> owner);
+        }
+        if (isLazyDependency(injectionPoint, index) && scope == ScopeEnum.POOLED) {
+            return createPooledProxy(injectionPoint.getDependencyTypes()[index], beanId, () -> owner);
+        }
+        if (isLazyDependency(injectionPoint, index)) {
+            // 延迟依赖在第一次调用时才创建，创建后等待其初始化完成再转发
+            return LazyProxyFactory.createProxy(injectionPoint.getDependencyTypes()[index],
+                    () -> awaitInitialization(getScopedBean(owner, beanId, scope)));
+        }
+        Object dependency = getScopedBean(owner, beanId, scope);
+        CompletableFuture<Void> future = getPendingInitialization(dependency);
+        if (future != null) {
+            readiness.add(future);
+        }
+        return dependency;
     }
 
-    private Object getDependency(Class<?> type, Autowired autowired) {
-        String beanName = getBeanName(autowired, type);
-        if (type.isInterface() && "".equals(autowired.name())) {
-            beanName = transformInterface2ImplKey(type);
+    /**
+     * 对象仍在异步执行 @InitAfter(async = true) 时返回其就绪 future，否则返回 null
+     */
+    private CompletableFuture<Void> getPendingInitialization(Object bean) {
+        if (pendingInitializations.isEmpty()) {
+            return null;
         }
-        return getBean(beanName, autowired.singleton());
+        return pendingInitializations.get(new BeanIdentity(bean));
     }
 
-    private String getBeanName(Autowired autowired, Class<?> type) {
-        return !autowired.name().isEmpty() ? autowired.name() : determineBeanName(type);
+    /**
+     * 等待对象的异步初始化完成，初始化失败时抛出 BeanCreationException
+     */
+    Object awaitInitialization(Object bean) {
+        CompletableFuture<Void> future = getPendingInitialization(bean);
+        if (future != null) {
+            awaitInitialization(future);
+        }
+        return bean;
     }
 
-    private void invokeConstructor(Object bean, Constructor<?> constructor, Object[] args) {
+    private void awaitInitialization(CompletableFuture<Void> future) {
         try {
-            // 判断是否要执行构造还是说对其的属性进行注入
-            if (args.length > 0) {
-                for (Field field : bean.getClass().getDeclaredFields()) {
-                    for (Object arg : args) {
-                        if (field.getType().equals(arg.getClass())) {
-                            injectField(bean, field, arg);
-                        }
-                    }
+            future.join();
+        } catch (CompletionException | CancellationException e) {
+            throw new BeanCreationException("Asynchronous @InitAfter initialization failed", e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * 注入点第一次解析后记录目标 bean 的 id，之后不再拼接名称和查找类型索引
+     */
+    private int resolveDependencyId(InjectionPoint injectionPoint, int index) {
+        int[] dependencyIds = resolvedDependencyIds.computeIfAbsent(injectionPoint, key -> {
+            int[] ids = new int[key.getDependencyTypes().length];
+            Arrays.fill(ids, -1);
+            return ids;
+        });
+        int beanId = dependencyIds[index];
+        if (beanId >= 0) {
+            return beanId;
+        }
+        String beanName = resolveDependencyName(injectionPoint.getDependencyTypes()[index], injectionPoint.getName());
+        Integer resolvedId = beanIds.get(beanName);
+        if (resolvedId == null) {
+            throw new BeanCreationException("No such bean: " + beanName);
+        }
+        // 重复写入的值相同，无需同步
+        dependencyIds[index] = resolvedId;
+        return resolvedId;
+    }
+
+    /**
+     * 标注了 @Lazy 且类型可以生成代理的依赖才延迟创建，final 类等无法代理的类型退回立即注入
+     */
+    private boolean isLazyDependency(InjectionPoint injectionPoint, int index) {
+        return injectionPoint.isLazy(index) && LazyProxyFactory.isProxyable(injectionPoint.getDependencyTypes()[index]);
+    }
+
+    private boolean isThreadScopedProxy(InjectionPoint injectionPoint, int index) {
+        return injectionPoint.getScope() == ScopeEnum.THREAD && injectionPoint.getKind(index) == DependencyKindEnum.SINGLE
+                && LazyProxyFactory.isProxyable(injectionPoint.getDependencyTypes()[index]);
+    }
+
+    /**
+     * 线程作用域依赖注入作用域代理：同一个使用者（例如被 parallel="methods" 的多个方法共用的测试实例）在哪个线程上调用，
+     * 就转发给哪个线程的实例。虚拟线程上按池化处理，同一使用者只借出一次；无法代理的类型直接注入当前线程的实例
+     */
+    private Object createThreadScopedProxy(Class<?> type, int beanId, Supplier<Object> owner) {
+        LazyTarget pooled = pooledTarget(beanId, owner);
+        return LazyProxyFactory.createScopedProxy(type,
+                () -> ThreadScope.isVirtual(Thread.currentThread()) ? pooled.get() : awaitInitialization(getThreadBean(beanId)));
+    }
+
+    /**
+     * 延迟注入的池化依赖：第一次调用时借出，归还后代理解除绑定，之后的调用重新借出，
+     * 因此可以在使用者的每次调用结束时归还（见 {@link #releaseRebindableBeans}）
+     */
+    private Object createPooledProxy(Class<?> type, int beanId, Supplier<Object> owner) {
+        return LazyProxyFactory.createProxy(type, pooledTarget(beanId, owner));
+    }
+
+    private LazyTarget pooledTarget(int beanId, Supplier<Object> owner) {
+        LazyTarget[] binding = new LazyTarget[1];
+        binding[0] = new LazyTarget(() -> awaitInitialization(borrowPooledBean(owner.get(), beanId, binding[0])));
+        return binding[0];
+    }
+
+    /**
+     * 注入点第 index 个依赖对应的全部 bean 名称：单个依赖为解析出的唯一名称，集合、Map、Optional 为全部候选
+     */
+    private List<String> resolveDependencyNames(InjectionPoint injectionPoint, int index) {
+        if (injectionPoint.getKind(index) == DependencyKindEnum.SINGLE) {
+            return Collections.singletonList(resolveDependencyName(injectionPoint.getDependencyTypes()[index], injectionPoint.getName()));
+        }
+        return resolveCandidateNames(injectionPoint, index);
+    }
+
+    /**
+     * 集合与 Map 收集元素类型的全部 bean，按名称排序；Optional 指定了名称时按名称，否则只能有一个候选，
+     * 多个候选时优先取与类名对应的 bean
+     */
+    private List<String> resolveCandidateNames(InjectionPoint injectionPoint, int index) {
+        Class<?> elementType = injectionPoint.getElementType(index);
+        if (injectionPoint.getKind(index) == DependencyKindEnum.OPTIONAL && !injectionPoint.getName().isEmpty()) {
+            return beanDefinitions.containsKey(injectionPoint.getName())
+                    ? Collections.singletonList(injectionPoint.getName()) : Collections.emptyList();
+        }
+        List<String> candidates = new ArrayList<>(typeIndex.getOrDefault(elementType, Collections.emptyList()));
+        Collections.sort(candidates);
+        if (injectionPoint.getKind(index) == DependencyKindEnum.OPTIONAL && candidates.size() > 1) {
+            String defaultName = determineBeanName(elementType);
+            if (!candidates.contains(defaultName)) {
+                throw new RuntimeException("TestNexus 检测到 " + elementType.getName() + " 有多个实现类 " + candidates
+                        + "，请使用 @Autowired 注解中的 name 属性来指定使用具体的实现类");
+            }
+            return Collections.singletonList(defaultName);
+        }
+        return candidates;
+    }
+
+    /**
+     * 候选名称第一次解析后记录为 id，之后不再查找类型索引和排序
+     */
+    private int[] resolveCandidateIds(InjectionPoint injectionPoint, int index) {
+        int[][] candidateIds = resolvedCandidateIds.computeIfAbsent(injectionPoint, key -> new int[key.getDependencyTypes().length][]);
+        int[] ids = candidateIds[index];
+        if (ids != null) {
+            return ids;
+        }
+        List<String> candidates = resolveCandidateNames(injectionPoint, index);
+        ids = new int[candidates.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = beanIds.get(candidates.get(i));
+        }
+        // 重复写入的值相同，无需同步
+        candidateIds[index] = ids;
+        return ids;
+    }
+
+    /**
+     * 按注入点的形式组装候选 bean。单例作用域的集合只构建一次，之后每次注入都复用同一个不可变对象；
+     * 元素仍在异步初始化时，readiness 不为 null 则登记等待，否则立即等待
+     */
+    private Object collectDependency(Object owner, InjectionPoint injectionPoint, int index, int[] beanIds, List<CompletableFuture<Void>> readiness) {
+        ScopeEnum scope = injectionPoint.getScope();
+        DependencyKindEnum kind = injectionPoint.getKind(index);
+        Object[] cached = scope == ScopeEnum.SINGLETON ? singletonCollections.get(injectionPoint) : null;
+        Object dependency = cached != null ? cached[index] : null;
+        if (dependency == null) {
+            Object[] beans = new Object[beanIds.length];
+            for (int i = 0; i < beanIds.length; i++) {
+                beans[i] = getScopedBean(owner, beanIds[i], scope);
+            }
+            dependency = buildDependency(kind, beanIds, beans);
+            if (scope == ScopeEnum.SINGLETON) {
+                // 并发构建出的集合内容相同，保留任意一个即可
+                singletonCollections.computeIfAbsent(injectionPoint, key -> new Object[key.getDependencyTypes().length])[index] = dependency;
+            }
+        }
+        if (!pendingInitializations.isEmpty()) {
+            for (Object bean : elementsOf(kind, dependency)) {
+                CompletableFuture<Void> future = getPendingInitialization(bean);
+                if (future == null) {
+                    continue;
+                }
+                if (readiness != null) {
+                    readiness.add(future);
+                } else {
+                    awaitInitialization(future);
                 }
-            } else {
-                constructor.setAccessible(true);
-                constructor.newInstance(args);
             }
-        } catch (Exception e) {
-            throw new BeanCreationException("Constructor injection failed", e);
         }
+        return dependency;
+    }
+
+    private Object buildDependency(DependencyKindEnum kind, int[] beanIds, Object[] beans) {
+        switch (kind) {
+            case SET:
+                return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(beans)));
+            case MAP:
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < beans.length; i++) {
+                    map.put(beanNamesById[beanIds[i]], beans[i]);
+                }
+                return Collections.unmodifiableMap(map);
+            case OPTIONAL:
+                return beans.length == 0 ? Optional.empty() : Optional.of(beans[0]);
+            default:
+                return Collections.unmodifiableList(Arrays.asList(beans));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> elementsOf(DependencyKindEnum kind, Object dependency) {
+        switch (kind) {
+            case MAP:
+                return ((Map<String, Object>) dependency).values();
+            case OPTIONAL:
+                return ((Optional<Object>) dependency).map(Collections::singletonList).orElse(Collections.emptyList());
+            default:
+                return (Collection<Object>) dependency;
+        }
+    }
+
+    private String resolveDependencyName(Class<?> type, String name) {
+        String beanName = getBeanName(name, type);
+        if (type.isInterface() && "".equals(name)) {
+            beanName = transformInterface2ImplKey(type);
+        }
+        return beanName;
+    }
+
+    private String getBeanName(String name, Class<?> type) {
+        return !name.isEmpty() ? name : determineBeanName(type);
     }
 
-    private void injectField(Object bean, Field field, Object value) {
+    private void injectField(Object bean, InjectionPoint injectionPoint, Object value) {
         try {
-            field.setAccessible(true);
-            field.set(bean, value);
-        } catch (Exception e) {
+            injectionPoint.getInvoker().invoke(bean, new Object[]{value});
+        } catch (Throwable e) {
             throw new BeanCreationException("Field injection failed", e);
         }
     }
 
-    private void invokeMethod(Object bean, Method method, Object[] args) {
+    private void invokeMethod(Object bean, InjectionPoint injectionPoint, Object[] args) {
         try {
-            method.setAccessible(true);
-            method.invoke(bean, args);
-        } catch (Exception e) {
+            injectionPoint.getInvoker().invoke(bean, args);
+        } catch (Throwable e) {
             throw new BeanCreationException("Method injection failed", e);
         }
     }
@@ -197,58 +1382,132 @@ public class BeanFactory {
         return Introspector.decapitalize(type.getSimpleName());
     }
 
-    private String transformInterface2ImplKey(Class<?> type) {
-        List<BeanDefinition> implBeanDefinitions = new ArrayList<>();
-        for (BeanDefinition beanDefinition : beanDefinitions.values()) {
-            if (type.isAssignableFrom(beanDefinition.getClazz())) {
-                implBeanDefinitions.add(beanDefinition);
-            }
-        }
-        if (implBeanDefinitions.size() == 1) {
-            return Introspector.decapitalize(implBeanDefinitions.get(0).getClazz().getSimpleName());
-        } else if (implBeanDefinitions.size() > 1) {
+    String transformInterface2ImplKey(Class<?> type) {
+        List<String> implBeanNames = typeIndex.getOrDefault(type, Collections.emptyList());
+        if (implBeanNames.size() == 1) {
+            return implBeanNames.get(0);
+        } else if (implBeanNames.size() > 1) {
             throw new RuntimeException("TestNexus 检测到该接口有多个实现类，请使用 @Autowired 注解中的 name 属性来指定使用具体的实现类");
         } else {
             throw new RuntimeException(type + " no such bean");
         }
     }
 
-    private void initBeforeMethodExecute(Object bean) {
-        Method[] methods = bean.getClass().getDeclaredMethods();
-        for (Method method : methods) {
-            if (method.isAnnotationPresent(InitBefore.class)) {
-                // 如果方法上标注有该初始化注解
-                method.setAccessible(true);
-                Parameter[] parameters = method.getParameters();
-                if (parameters.length > 0) {
-                    throw new RuntimeException("the methods marked with the @InitBefore annotation must not have parameters");
-                }
-                try {
-                    method.invoke(bean);
-                } catch (InvocationTargetException | IllegalAccessException e) {
-                    throw new RuntimeException("TestNexus encounters any issues, please contact the author");
-                }
+    private void initBeforeMethodExecute(String beanName, Object bean, BeanMetadata metadata, boolean isSingle) {
+        if (metadata.getInitBeforeMethods().isEmpty()) {
+            return;
+        }
+        long start = TestNexusMetrics.beginBeanPhase();
+        for (Method method : metadata.getInitBeforeMethods()) {
+            // 如果方法上标注有该初始化注解
+            if (method.getParameterCount() > 0) {
+                throw new RuntimeException("the methods marked with the @InitBefore annotation must not have parameters");
+            }
+            try {
+                method.invoke(bean);
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                throw new RuntimeException("TestNexus encounters any issues, please contact the author");
             }
         }
+        TestNexusMetrics.endBeanPhase(beanName, BeanPhase.INIT_BEFORE, isSingle, start);
     }
 
-    private void initAfterMethodExecute(Object bean) {
-        Method[] methods = bean.getClass().getDeclaredMethods();
-        for (Method method : methods) {
-            if (method.isAnnotationPresent(InitAfter.class)) {
-                // 如果方法上标注有该初始化注解
-                method.setAccessible(true);
-                Parameter[] parameters = method.getParameters();
-                if (parameters.length > 0) {
-                    throw new RuntimeException("the methods marked with the @InitAfter annotation must not have parameters");
+    private void resetMethodExecute(Object bean) {
+        for (Method method : BeanMetadata.forClass(bean.getClass()).getResetMethods()) {
+            if (method.getParameterCount() > 0) {
+                throw new RuntimeException("the methods marked with the @Reset annotation must not have parameters");
+            }
+            try {
+                method.invoke(bean);
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                throw new RuntimeException("Failed to reset pooled bean: " + bean.getClass().getName(), e);
+            }
+        }
+    }
+
+    private void initAfterMethodExecute(String beanName, Object bean, BeanMetadata metadata, boolean isSingle) {
+        if (!metadata.getInitAfterMethods().isEmpty()) {
+            long start = TestNexusMetrics.beginBeanPhase();
+            for (Method method : metadata.getInitAfterMethods()) {
+                invokeInitAfterMethod(bean, method);
+            }
+            TestNexusMetrics.endBeanPhase(beanName, BeanPhase.INIT_AFTER, isSingle, start);
+        }
+        List<Method> asyncMethods = metadata.getAsyncInitAfterMethods();
+        if (asyncMethods.isEmpty()) {
+            return;
+        }
+        // 异步方法按声明顺序在同一个任务中执行，完成前对象已对外可见，使用方通过就绪 future 等待
+        for (Method method : asyncMethods) {
+            checkInitAfterMethod(method);
+        }
+        BeanIdentity identity = new BeanIdentity(bean);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pendingInitializations.put(identity, future);
+        getInitExecutor().execute(() -> {
+            try {
+                long start = TestNexusMetrics.beginBeanPhase();
+                for (Method method : asyncMethods) {
+                    invokeInitAfterMethod(bean, method);
                 }
-                try {
-                    method.invoke(bean);
-                } catch (InvocationTargetException | IllegalAccessException e) {
-                    throw new RuntimeException("TestNexus encounters any issues, please contact the author");
+                TestNexusMetrics.endBeanPhase(beanName, BeanPhase.INIT_AFTER_ASYNC, isSingle, start);
+                future.complete(null);
+            } catch (Throwable e) {
+                future.completeExceptionally(new BeanCreationException("Error initializing bean '" + beanName + "'", e));
+            } finally {
+                pendingInitializations.remove(identity, future);
+            }
+        });
+    }
+
+    private void invokeInitAfterMethod(Object bean, Method method) {
+        checkInitAfterMethod(method);
+        try {
+            method.invoke(bean);
+        } catch (InvocationTargetException | IllegalAccessException e) {
+            throw new RuntimeException("TestNexus encounters any issues, please contact the author", e);
+        }
+    }
+
+    private void checkInitAfterMethod(Method method) {
+        // 如果方法上标注有该初始化注解
+        if (method.getParameterCount() > 0) {
+            throw new RuntimeException("the methods marked with the @InitAfter annotation must not have parameters");
+        }
+    }
+
+    private ExecutorService getInitExecutor() {
+        ExecutorService executor = initExecutor;
+        if (executor == null) {
+            synchronized (pendingInitializations) {
+                executor = initExecutor;
+                if (executor == null) {
+                    executor = Executors.newCachedThreadPool(daemonThreadFactory("test-nexus-init-"));
+                    initExecutor = executor;
                 }
             }
         }
+        return executor;
     }
 
+    /**
+     * 按对象身份比较的键，避免调用 bean 自身的 equals/hashCode
+     */
+    private static class BeanIdentity {
+        private final Object bean;
+
+        private BeanIdentity(Object bean) {
+            this.bean = bean;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(bean);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof BeanIdentity && ((BeanIdentity) obj).bean == bean;
+        }
+    }
 }
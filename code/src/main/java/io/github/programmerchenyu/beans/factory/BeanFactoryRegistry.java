@@ -0,0 +1,65 @@
+package io.github.programmerchenyu.beans.factory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JVM 级别的容器注册表：@TestNexus 配置类集合相同的测试上下文共享同一个 BeanFactory，
+ * 按引用计数管理，最后一个使用者释放时才由调用方执行销毁
+ * @author 爱吃小鱼的橙子
+ */
+public class BeanFactoryRegistry {
+
+    private static final Map<Set<Class<?>>, Entry> FACTORIES = new HashMap<>();
+
+    /**
+     * 获取配置类集合对应的容器，不存在时创建，引用计数加一
+     */
+    public static synchronized BeanFactory acquire(Class<?>[] configClasses, FactoryCreator creator) {
+        Set<Class<?>> key = new HashSet<>(Arrays.asList(configClasses));
+        Entry entry = FACTORIES.get(key);
+        if (entry == null) {
+            entry = new Entry(creator.create(configClasses));
+            FACTORIES.put(key, entry);
+        }
+        entry.references++;
+        return entry.beanFactory;
+    }
+
+    /**
+     * 引用计数减一，返回 true 表示这是最后一个使用者，容器已从注册表移除，调用方需要执行销毁
+     */
+    public static synchronized boolean release(BeanFactory beanFactory) {
+        Iterator<Entry> iterator = FACTORIES.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.beanFactory == beanFactory) {
+                if (--entry.references > 0) {
+                    return false;
+                }
+                iterator.remove();
+                return true;
+            }
+        }
+        // 未注册的容器（例如关闭了共享）只有一个使用者
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface FactoryCreator {
+        BeanFactory create(Class<?>[] configClasses);
+    }
+
+    private static class Entry {
+        private final BeanFactory beanFactory;
+        private int references;
+
+        private Entry(BeanFactory beanFactory) {
+            this.beanFactory = beanFactory;
+        }
+    }
+}
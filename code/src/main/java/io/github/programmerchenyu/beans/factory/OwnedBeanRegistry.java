@@ -0,0 +1,137 @@
+package io.github.programmerchenyu.beans.factory;
+
+import io.github.programmerchenyu.beans.factory.proxy.LazyTarget;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 记录每个使用者（注入目标）持有的池化对象和带 @Destroy 的原型对象，通过延迟代理借出的池化对象同时记录代理的 {@link LazyTarget}。
+ * 使用者以弱引用按身份登记，未被显式释放就被回收时，其持有的对象会在下一次清理时交还给容器处理
+ * @author 爱吃小鱼的橙子
+ */
+class OwnedBeanRegistry {
+
+    private final Map<OwnerKey, OwnedBeans> ownedBeans = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collectedOwners = new ReferenceQueue<>();
+
+    /**
+     * @param binding 借出该对象的延迟代理，直接注入时为 null
+     */
+    void addPooled(Object owner, String beanName, Object bean, LazyTarget binding) {
+        ownedBeans.computeIfAbsent(new OwnerKey(owner, collectedOwners), key -> new OwnedBeans()).pooled.add(new PooledBean(beanName, bean, binding));
+    }
+
+    void addPrototype(Object owner, Object bean) {
+        ownedBeans.computeIfAbsent(new OwnerKey(owner, collectedOwners), key -> new OwnedBeans()).prototypes.add(bean);
+    }
+
+    /**
+     * 移除使用者的登记，没有登记时返回 null
+     */
+    OwnedBeans remove(Object owner) {
+        return ownedBeans.remove(new OwnerKey(owner, null));
+    }
+
+    /**
+     * 只取出使用者通过延迟代理借出的池化对象：代理解除绑定后会重新借出，归还不影响使用者继续使用；
+     * 直接注入的对象仍被使用者的字段引用，保留到使用者结束。没有这类对象时返回 null
+     */
+    OwnedBeans removeRebindable(Object owner) {
+        OwnedBeans beans = ownedBeans.get(new OwnerKey(owner, null));
+        if (beans == null) {
+            return null;
+        }
+        OwnedBeans rebindable = new OwnedBeans();
+        synchronized (beans.pooled) {
+            Iterator<PooledBean> iterator = beans.pooled.iterator();
+            while (iterator.hasNext()) {
+                PooledBean pooledBean = iterator.next();
+                if (pooledBean.binding != null) {
+                    rebindable.pooled.add(pooledBean);
+                    iterator.remove();
+                }
+            }
+        }
+        return rebindable.pooled.isEmpty() ? null : rebindable;
+    }
+
+    /**
+     * 取出已被回收的使用者遗留的对象
+     */
+    List<OwnedBeans> removeCollected() {
+        List<OwnedBeans> collected = new ArrayList<>();
+        Reference<?> reference;
+        while ((reference = collectedOwners.poll()) != null) {
+            OwnedBeans beans = ownedBeans.remove(reference);
+            if (beans != null) {
+                collected.add(beans);
+            }
+        }
+        return collected;
+    }
+
+    List<OwnedBeans> removeAll() {
+        List<OwnedBeans> all = new ArrayList<>();
+        for (OwnerKey key : new ArrayList<>(ownedBeans.keySet())) {
+            OwnedBeans beans = ownedBeans.remove(key);
+            if (beans != null) {
+                all.add(beans);
+            }
+        }
+        return all;
+    }
+
+    static class OwnedBeans {
+        final List<PooledBean> pooled = Collections.synchronizedList(new ArrayList<>());
+        final List<Object> prototypes = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    static class PooledBean {
+        final String beanName;
+        final Object bean;
+        final LazyTarget binding;
+
+        PooledBean(String beanName, Object bean, LazyTarget binding) {
+            this.beanName = beanName;
+            this.bean = bean;
+            this.binding = binding;
+        }
+    }
+
+    /**
+     * 按身份比较的弱引用键，查询时使用不进入引用队列的临时键
+     */
+    private static class OwnerKey extends WeakReference<Object> {
+        private final int hash;
+
+        OwnerKey(Object owner, ReferenceQueue<Object> queue) {
+            super(owner, queue);
+            this.hash = System.identityHashCode(owner);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof OwnerKey)) {
+                return false;
+            }
+            Object owner = get();
+            return owner != null && owner == ((OwnerKey) obj).get();
+        }
+    }
+}
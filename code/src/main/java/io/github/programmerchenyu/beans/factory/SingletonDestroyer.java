@@ -0,0 +1,129 @@
+package io.github.programmerchenyu.beans.factory;
+
+import io.github.programmerchenyu.beans.BeanMetadata;
+import io.github.programmerchenyu.beans.factory.graph.DependencyGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * 单例销毁引擎：一个 bean 只有在所有依赖它的 bean 销毁完成后才开始销毁，互不依赖的分支并发执行。
+ * 每个 bean 的超时从真正开始执行时计算，超时的 bean 记为失败并释放并发名额，不再阻塞依赖它的销毁；
+ * 所有失败都被收集，而不是在第一个异常处中断
+ * @author 爱吃小鱼的橙子
+ */
+class SingletonDestroyer {
+
+    // 方向为 “被依赖方 -> 依赖方”
+    private final DependencyGraph destroyOrder;
+    private final Map<String, Object> beans;
+    private final BiConsumer<String, Object> destroyer;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newCachedThreadPool(BeanFactory.daemonThreadFactory("test-nexus-destroy-"));
+    private final Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+    private final Set<String> visiting = new HashSet<>();
+    private final Map<String, Throwable> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * @param beans 待销毁的 bean，按创建顺序的逆序排列
+     */
+    SingletonDestroyer(DependencyGraph destroyOrder, Map<String, Object> beans, BiConsumer<String, Object> destroyer, long timeoutMillis, int parallelism) {
+        this.destroyOrder = destroyOrder;
+        this.beans = beans;
+        this.destroyer = destroyer;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(Math.max(1, parallelism));
+    }
+
+    /**
+     * @return bean 名称 -> 失败原因，全部成功时为空
+     */
+    Map<String, Throwable> destroy() {
+        try {
+            for (String beanName : beans.keySet()) {
+                schedule(beanName);
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            // 仍在执行的超时任务被中断
+            executor.shutdownNow();
+        }
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+
+    private CompletableFuture<Void> schedule(String beanName) {
+        CompletableFuture<Void> future = futures.get(beanName);
+        if (future != null) {
+            return future;
+        }
+        if (!visiting.add(beanName)) {
+            // 回边，形成环
+            return null;
+        }
+        List<CompletableFuture<Void>> dependentFutures = new ArrayList<>();
+        for (String dependentName : destroyOrder.getDependencies(beanName)) {
+            CompletableFuture<Void> dependentFuture = schedule(dependentName);
+            if (dependentFuture != null) {
+                dependentFutures.add(dependentFuture);
+            }
+        }
+        visiting.remove(beanName);
+        future = CompletableFuture.allOf(dependentFutures.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(ignored -> destroyAsync(beanName));
+        futures.put(beanName, future);
+        return future;
+    }
+
+    private CompletableFuture<Void> destroyAsync(String beanName) {
+        Object bean = beans.get(beanName);
+        if (bean == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!BeanMetadata.forClass(bean.getClass()).hasDestroyMethods()) {
+            // 没有 @Destroy 的 bean 只需释放它持有的作用域对象，直接在当前线程完成
+            try {
+                destroyer.accept(beanName, bean);
+            } catch (Throwable e) {
+                failures.put(beanName, e);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        // 正常结束或超时都归还名额，卡住的线程不再占用并发度
+        done.whenComplete((ignored, e) -> permits.release());
+        executor.execute(() -> {
+            permits.acquireUninterruptibly();
+            done.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                destroyer.accept(beanName, bean);
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        return done.handle((ignored, e) -> {
+            if (e instanceof TimeoutException) {
+                failures.put(beanName, new TimeoutException("@Destroy did not finish within " + timeoutMillis + " ms"));
+            } else if (e != null) {
+                failures.put(beanName, e);
+            }
+            return null;
+        });
+    }
+}
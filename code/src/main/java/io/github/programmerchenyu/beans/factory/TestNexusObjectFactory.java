@@ -2,28 +2,52 @@ package io.github.programmerchenyu.beans.factory;
 
 import io.github.programmerchenyu.base.annotion.TestNexus;
 import io.github.programmerchenyu.beans.BeanDefinition;
-import io.github.programmerchenyu.beans.factory.annotation.Destroy;
+import io.github.programmerchenyu.beans.exception.BeanDestructionException;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
 import io.github.programmerchenyu.constants.context.ContextAttribute;
 import org.testng.IObjectFactory;
 import org.testng.ITestContext;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlTest;
 
 import java.beans.Introspector;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author 爱吃小鱼的橙子
  */
 public class TestNexusObjectFactory implements IObjectFactory {
 
-    private BeanFactory beanFactory;
+    // 测试类的创建计划只与类本身有关，所有上下文和容器共用
+    private static final ClassValue<TestClassPlan> PLANS = new ClassValue<TestClassPlan>() {
+        @Override
+        protected TestClassPlan computeValue(Class<?> type) {
+            return new TestClassPlan(type);
+        }
+    };
+
+    private volatile BeanFactory beanFactory;
 
     private ITestContext context;
 
+    // 共享容器中测试类按普通 bean 创建一次，但每个 <test> 上下文各自持有自己的测试实例
+    private final Map<Class<?>, Object> testInstances = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    // 本上下文会执行的测试类，作为预创建与可达性分析的根
+    private final Set<String> testBeanNames = ConcurrentHashMap.newKeySet();
+
     public TestNexusObjectFactory(ITestContext context) {
         this.context = context;
     }
@@ -31,18 +55,18 @@ public class TestNexusObjectFactory implements IObjectFactory {
     @Override
     public Object newInstance(Constructor constructor, Object... args) {
         Class<?> testClass = constructor.getDeclaringClass();
-        if (testClass.isAnnotationPresent(TestNexus.class)) {
-            beanFactory = (BeanFactory) context.getAttribute(ContextAttribute.BEAN_FACTORY);
-            if (beanFactory == null) {
-                beanFactory = new BeanFactory(testClass.getAnnotation(TestNexus.class).classes());
-                context.setAttribute(ContextAttribute.BEAN_FACTORY, beanFactory);
+        TestClassPlan plan = PLANS.get(testClass);
+        if (plan.definition != null) {
+            Object testInstance = testInstances.get(testClass);
+            if (testInstance != null) {
+                return testInstance;
             }
-            registerTestClassAsBean(testClass, beanFactory);
-            // 将Class转换为Bean名称（遵循与BeanFactory一致的命名规则）
-            String beanName = Introspector.decapitalize(testClass.getSimpleName());
-            // 使用字符串名称获取Bean
+            BeanFactory beanFactory = getOrCreateBeanFactory(testClass);
             // 执行所有对象初始化后的用户自定义逻辑
-            return beanFactory.getBean(beanName);
+            return testInstances.computeIfAbsent(testClass, clazz -> {
+                beanFactory.registerBeanDefinition(plan.beanName, plan.definition);
+                return beanFactory.awaitInitialization(beanFactory.getBean(plan.beanName, false));
+            });
         }
         try {
             return constructor.newInstance();
@@ -51,42 +75,218 @@ public class TestNexusObjectFactory implements IObjectFactory {
         }
     }
 
-    private void registerTestClassAsBean(Class<?> testClass, BeanFactory beanFactory) {
-        // 生成Bean名称
-        String beanName = Introspector.decapitalize(testClass.getSimpleName());
-        try {
-            // 创建BeanDefinition（组件类类型）
-            BeanDefinition definition = new BeanDefinition(testClass);
-            // 注册到BeanFactory（覆盖已有定义）
-            Field beanDefinitions = beanFactory.getClass().getDeclaredField("beanDefinitions");
-            beanDefinitions.setAccessible(true);
-            ((Map<String, BeanDefinition>)beanDefinitions.get(beanFactory)).putIfAbsent(beanName, definition);
-        } catch (NoSuchFieldException | IllegalAccessException | NoSuchMethodException e) {
-            throw new RuntimeException("Failed to access BeanFactory internal state", e);
+    /**
+     * 并行模式下多个线程会同时实例化测试类，容器只能创建一次；
+     * 默认从 {@link BeanFactoryRegistry} 获取，配置类相同的 <test> 块共享同一个容器
+     */
+    private BeanFactory getOrCreateBeanFactory(Class<?> testClass) {
+        BeanFactory factory = beanFactory;
+        if (factory != null) {
+            return factory;
+        }
+        synchronized (context) {
+            factory = (BeanFactory) context.getAttribute(ContextAttribute.BEAN_FACTORY);
+            if (factory == null) {
+                Class<?>[] configClasses = testClass.getAnnotation(TestNexus.class).classes();
+                if (Boolean.parseBoolean(System.getProperty(TestNexusProperties.SHARED_CONTEXT, "true"))) {
+                    factory = BeanFactoryRegistry.acquire(configClasses, TestNexusObjectFactory::createBeanFactory);
+                } else {
+                    factory = createBeanFactory(configClasses);
+                }
+                context.setAttribute(ContextAttribute.BEAN_FACTORY, factory);
+            }
+            Set<String> registered = registerTestClasses(factory, testClass);
+            String graphExport = System.getProperty(TestNexusProperties.GRAPH_EXPORT);
+            if (graphExport != null) {
+                factory.exportDependencyGraph(graphExport);
+            }
+            // 容器创建时已校验过配置类中的定义，这里只需校验测试类
+            if (Boolean.getBoolean(TestNexusProperties.VALIDATE)) {
+                factory.validate(registered);
+            }
+            if (Boolean.getBoolean(TestNexusProperties.EAGER_INIT)) {
+                if (Boolean.parseBoolean(System.getProperty(TestNexusProperties.EAGER_PRUNE, "true"))) {
+                    factory.preInstantiateSingletons(testBeanNames);
+                } else {
+                    factory.preInstantiateSingletons();
+                }
+            }
+            beanFactory = factory;
+            return factory;
         }
     }
 
-    public void destroyTestNexusObjectFactory() {
-        try {
-            Field destroyStackField = beanFactory.getClass().getDeclaredField("destroyStack");
-            destroyStackField.setAccessible(true);
-            LinkedList<Object> destroyStack = (LinkedList<Object>) destroyStackField.get(beanFactory);
-            while (!destroyStack.isEmpty()) {
-                Object bean = destroyStack.removeLast();
-                Class<?> clazz = bean.getClass();
-                for (Method method : clazz.getDeclaredMethods()) {
-                    if (method.isAnnotationPresent(Destroy.class)) {
-                        // 如果用户写了销毁前的逻辑，此时执行
-                        method.setAccessible(true);
-                        if (method.getParameters().length > 0) {
-                            throw new RuntimeException("the methods marked with the @Destroy annotation must not have parameters");
-                        }
-                        method.invoke(bean);
-                    }
+    private static BeanFactory createBeanFactory(Class<?>[] configClasses) {
+        return new BeanFactory(configClasses);
+    }
+
+    /**
+     * 当前 <test> 块声明的测试类一次性注册，避免每个测试类单独扩容容器并清空已解析的注入点；
+     * 其中会被执行的测试类（指定了 groups 时只算包含这些分组的类）作为预创建和可达性分析的根
+     * @return 本次注册的测试类 bean 名称
+     */
+    private Set<String> registerTestClasses(BeanFactory factory, Class<?> instantiatingClass) {
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        List<Class<?>> testClasses = new ArrayList<>();
+        testClasses.add(instantiatingClass);
+        if (xmlTest != null) {
+            for (XmlClass xmlClass : xmlTest.getXmlClasses()) {
+                if (xmlClass.getSupportClass() != null) {
+                    testClasses.add(xmlClass.getSupportClass());
+                }
+            }
+        }
+        List<String> includedGroups = xmlTest != null ? xmlTest.getIncludedGroups() : null;
+        Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+        for (Class<?> testClass : testClasses) {
+            TestClassPlan plan = PLANS.get(testClass);
+            if (plan.definition == null) {
+                continue;
+            }
+            definitions.putIfAbsent(plan.beanName, plan.definition);
+            if (includedGroups == null || includedGroups.isEmpty() || hasIncludedGroup(testClass, includedGroups)) {
+                testBeanNames.add(plan.beanName);
+            }
+        }
+        factory.registerBeanDefinitions(definitions);
+        return definitions.keySet();
+    }
+
+    /**
+     * 类级别或任一方法的 @Test 分组命中 include 规则（名称或正则）时该类才会执行；exclude 规则不参与判断，宁多勿少
+     */
+    private static boolean hasIncludedGroup(Class<?> testClass, List<String> includedGroups) {
+        if (hasIncludedGroup(testClass.getAnnotation(Test.class), includedGroups)) {
+            return true;
+        }
+        for (Method method : testClass.getMethods()) {
+            if (hasIncludedGroup(method.getAnnotation(Test.class), includedGroups)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasIncludedGroup(Test test, List<String> includedGroups) {
+        if (test == null) {
+            return false;
+        }
+        for (String group : test.groups()) {
+            for (String includedGroup : includedGroups) {
+                if (group.equals(includedGroup) || group.matches(includedGroup)) {
+                    return true;
                 }
             }
-        } catch (NoSuchFieldException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("TestNexus encounters any issues, please contact the author");
+        }
+        return false;
+    }
+
+    /**
+     * 当前上下文持有的容器，尚未创建时为 null
+     */
+    public BeanFactory getBeanFactory() {
+        return beanFactory;
+    }
+
+    /**
+     * 当前上下文会执行的测试类对应的 bean 名称
+     */
+    public Set<String> getTestBeanNames() {
+        return Collections.unmodifiableSet(testBeanNames);
+    }
+
+    /**
+     * 测试类结束，该类测试实例借出的池化对象全部归还，持有的原型对象执行 @Destroy
+     */
+    public void releaseTestInstance(Class<?> testClass) {
+        Object testInstance = testInstances.get(testClass);
+        if (beanFactory != null && testInstance != null) {
+            beanFactory.releaseOwnedBeans(testInstance);
+        }
+    }
+
+    /**
+     * 销毁已结束线程遗留的线程作用域实例，不必等到下一次创建线程作用域实例或容器关闭
+     */
+    public void destroyTerminatedThreadBeans() {
+        if (beanFactory != null) {
+            beanFactory.destroyTerminatedThreadBeans();
+        }
+    }
+
+    /**
+     * 测试方法的一次调用结束（例如 @DataProvider 的一行数据），归还测试实例通过 @Lazy 代理借出的池化对象
+     */
+    public void releaseInvocation(Object testInstance) {
+        if (beanFactory != null) {
+            beanFactory.releaseRebindableBeans(testInstance);
+        }
+    }
+
+    /**
+     * 当前 <test> 块结束，释放所有测试实例持有的作用域对象
+     */
+    public void releaseTestInstances() {
+        for (Class<?> testClass : testInstances.keySet()) {
+            releaseTestInstance(testClass);
+        }
+    }
+
+    /**
+     * 释放当前上下文对容器的引用，重复调用只生效一次：先销毁本上下文的测试实例，
+     * 最后一个引用释放时再销毁作用域对象和单例。所有失败汇总为一个 {@link BeanDestructionException}
+     */
+    public void destroyTestNexusObjectFactory() {
+        if (beanFactory == null || !released.compareAndSet(false, true)) {
+            return;
+        }
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        testInstances.forEach((testClass, testInstance) -> {
+            try {
+                beanFactory.destroyBean(testInstance);
+            } catch (RuntimeException e) {
+                failures.put(testClass.getName(), e);
+            }
+        });
+        if (BeanFactoryRegistry.release(beanFactory)) {
+            try {
+                beanFactory.destroyScopedBeans();
+            } catch (RuntimeException e) {
+                failures.put("scoped beans", e);
+            }
+            try {
+                beanFactory.destroySingletons();
+            } catch (BeanDestructionException e) {
+                failures.putAll(e.getFailures());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new BeanDestructionException(failures);
+        }
+    }
+
+    /**
+     * 测试类的创建计划：是否由 test-nexus 管理、bean 名称（与 BeanFactory 命名规则一致）和 bean 定义
+     */
+    private static final class TestClassPlan {
+
+        private final String beanName;
+
+        // 不是 @TestNexus 测试类时为 null
+        private final BeanDefinition definition;
+
+        TestClassPlan(Class<?> testClass) {
+            if (!testClass.isAnnotationPresent(TestNexus.class)) {
+                this.beanName = null;
+                this.definition = null;
+                return;
+            }
+            this.beanName = Introspector.decapitalize(testClass.getSimpleName());
+            try {
+                this.definition = new BeanDefinition(testClass);
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException("Failed to register test class as bean: " + testClass.getName(), e);
+            }
         }
     }
 }
@@ -0,0 +1,112 @@
+package io.github.programmerchenyu.beans.factory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 线程作用域：每个线程按 bean id 在自己的数组槽位中持有实例，读写只访问当前线程的数据，不需要加锁。
+ * 创建过的实例连同所属线程一起登记，线程结束或容器关闭时交还给容器执行 @Destroy
+ * @author 爱吃小鱼的橙子
+ */
+class ThreadScope {
+
+    // Thread.isVirtual() 从 Java 21 开始提供，编译目标为 17，运行时通过方法句柄探测
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private static final Object[] NO_BEANS = new Object[0];
+
+    // 容器关闭时整体替换，其他线程中残留的槽位随之失效
+    private volatile ThreadLocal<Object[]> slots = ThreadLocal.withInitial(() -> NO_BEANS);
+
+    private final Queue<ThreadBean> threadBeans = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 当前线程持有的实例，尚未创建时返回 null
+     */
+    Object get(int beanId) {
+        Object[] beans = slots.get();
+        return beanId < beans.length ? beans[beanId] : null;
+    }
+
+    void put(int beanId, Object bean) {
+        ThreadLocal<Object[]> slots = this.slots;
+        Object[] beans = slots.get();
+        if (beanId >= beans.length) {
+            beans = Arrays.copyOf(beans, Math.max(beanId + 1, beans.length * 2));
+            slots.set(beans);
+        }
+        beans[beanId] = bean;
+        threadBeans.add(new ThreadBean(Thread.currentThread(), bean));
+    }
+
+    /**
+     * 取出所属线程已经结束的实例，例如 TestNG 在 <test> 块结束后关闭的工作线程
+     */
+    List<Object> removeTerminated() {
+        List<Object> terminated = new ArrayList<>();
+        Iterator<ThreadBean> iterator = threadBeans.iterator();
+        while (iterator.hasNext()) {
+            ThreadBean threadBean = iterator.next();
+            Thread thread = threadBean.thread.get();
+            if ((thread == null || !thread.isAlive()) && threadBeans.remove(threadBean)) {
+                terminated.add(threadBean.bean);
+            }
+        }
+        return terminated;
+    }
+
+    /**
+     * 取出全部实例，各线程之后再访问时重新创建
+     */
+    List<Object> removeAll() {
+        slots = ThreadLocal.withInitial(() -> NO_BEANS);
+        List<Object> all = new ArrayList<>();
+        ThreadBean threadBean;
+        while ((threadBean = threadBeans.poll()) != null) {
+            all.add(threadBean.bean);
+        }
+        return all;
+    }
+
+    static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 所属线程以弱引用持有，不影响线程对象的回收
+     */
+    private static final class ThreadBean {
+
+        private final WeakReference<Thread> thread;
+
+        private final Object bean;
+
+        ThreadBean(Thread thread, Object bean) {
+            this.thread = new WeakReference<>(thread);
+            this.bean = bean;
+        }
+    }
+}
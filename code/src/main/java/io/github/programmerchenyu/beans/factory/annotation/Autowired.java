@@ -1,5 +1,7 @@
 package io.github.programmerchenyu.beans.factory.annotation;
 
+import io.github.programmerchenyu.enums.scope.ScopeEnum;
+
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -16,4 +18,6 @@ public @interface Autowired {
     boolean singleton() default true;
     // 添加Bean名称指定参数，默认按类型注入
     String name() default "";
+    // 作用域，非 DEFAULT 时优先于 singleton 属性
+    ScopeEnum scope() default ScopeEnum.DEFAULT;
 }
@@ -11,4 +11,6 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface InitAfter {
+    // 为 true 时在后台线程执行，bean 第一次被使用或被注入的 bean 初始化前才等待其完成
+    boolean async() default false;
 }
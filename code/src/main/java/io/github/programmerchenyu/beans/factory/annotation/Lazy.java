@@ -0,0 +1,18 @@
+package io.github.programmerchenyu.beans.factory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 与 @Autowired 一起使用：注入一个轻量代理，真正的 bean 在第一次调用方法时才创建。
+ * 标注在方法或构造器上时对全部参数生效，也可以只标注在单个参数上
+ * @author 爱吃小鱼的橙子
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.CONSTRUCTOR, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+}
@@ -0,0 +1,15 @@
+package io.github.programmerchenyu.beans.factory.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 池化对象归还到对象池前执行，用于清理上一次使用留下的状态
+ * @author 爱吃小鱼的橙子
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Reset {
+}
@@ -0,0 +1,27 @@
+package io.github.programmerchenyu.beans.factory.aot;
+
+import io.github.programmerchenyu.beans.BeanDefinition;
+
+import java.util.Map;
+
+/**
+ * 编译期为 @Configuration 配置类生成的装配代码，类名为配置类的二进制名称加 {@link #SUFFIX}。
+ * 生成的代码直接调用构造器、工厂方法和可访问的字段、方法完成实例化与注入，
+ * 只有 private 成员和生命周期方法仍按名称定位
+ * @author 爱吃小鱼的橙子
+ */
+public interface GeneratedWiring {
+
+    String SUFFIX = "$$TestNexusWiring";
+
+    /**
+     * 注册配置类自身、@ComponentScan 扫描到的组件和 @Bean 方法的定义（已存在同名定义时忽略），
+     * 并登记组件的注入与生命周期元数据
+     */
+    void registerBeanDefinitions(Map<String, BeanDefinition> beanDefinitions);
+
+    /**
+     * 配置类 @ComponentScan 的包；编译期只能看到同一次编译中的组件，运行时据此补充其余组件
+     */
+    String[] getScanPackages();
+}
@@ -0,0 +1,71 @@
+package io.github.programmerchenyu.beans.factory.aot;
+
+import io.github.programmerchenyu.beans.BeanDefinition;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 生成的装配代码使用的辅助方法：生成代码无法直接访问的成员按名称定位。
+ * 找不到成员说明生成代码与类不一致，需要重新编译
+ * @author 爱吃小鱼的橙子
+ */
+public class WiringSupport {
+
+    public static Field field(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw outOfDate(type, e);
+        }
+    }
+
+    public static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = type.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw outOfDate(type, e);
+        }
+    }
+
+    public static Constructor<?> constructor(Class<?> type, Class<?>... parameterTypes) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw outOfDate(type, e);
+        }
+    }
+
+    /**
+     * 构造器不可访问的组件，按反射方式创建定义
+     */
+    public static BeanDefinition definition(Class<?> type) {
+        try {
+            return new BeanDefinition(type);
+        } catch (NoSuchMethodException e) {
+            throw outOfDate(type, e);
+        }
+    }
+
+    /**
+     * 生成代码中无法引用的组件类（例如其他包中的包级可见类），通过配置类的类加载器加载
+     */
+    public static BeanDefinition definition(Class<?> configClass, String className) {
+        try {
+            return definition(Class.forName(className, false, configClass.getClassLoader()));
+        } catch (ClassNotFoundException e) {
+            throw outOfDate(configClass, e);
+        }
+    }
+
+    private static IllegalStateException outOfDate(Class<?> type, Exception cause) {
+        return new IllegalStateException("Generated wiring for " + type.getName() + " is out of date, please recompile", cause);
+    }
+}
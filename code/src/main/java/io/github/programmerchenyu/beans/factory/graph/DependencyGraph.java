@@ -0,0 +1,73 @@
+package io.github.programmerchenyu.beans.factory.graph;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * bean 依赖图：节点为 bean 名称，边由 @Autowired 注入点与 @Bean 工厂方法所在的配置类产生，
+ * 方向为 “依赖方 -> 被依赖方”
+ * @author 爱吃小鱼的橙子
+ */
+public class DependencyGraph {
+
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+    public void addNode(String beanName) {
+        dependencies.computeIfAbsent(beanName, key -> new LinkedHashSet<>());
+    }
+
+    /**
+     * @param beanName 依赖方
+     * @param dependencyName 被依赖方
+     */
+    public void addEdge(String beanName, String dependencyName) {
+        addNode(beanName);
+        addNode(dependencyName);
+        if (!beanName.equals(dependencyName)) {
+            dependencies.get(beanName).add(dependencyName);
+        }
+    }
+
+    public Set<String> getBeanNames() {
+        return Collections.unmodifiableSet(dependencies.keySet());
+    }
+
+    public Set<String> getDependencies(String beanName) {
+        return Collections.unmodifiableSet(dependencies.getOrDefault(beanName, Collections.emptySet()));
+    }
+
+    /**
+     * 从给定 bean 出发沿依赖可达的全部 bean（包括出发点本身，图中不存在的名称被忽略）
+     */
+    public Set<String> reachableFrom(Collection<String> beanNames) {
+        Set<String> reachable = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(beanNames);
+        while (!pending.isEmpty()) {
+            String beanName = pending.pop();
+            if (dependencies.containsKey(beanName) && reachable.add(beanName)) {
+                pending.addAll(dependencies.get(beanName));
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * 反向图：方向为 “被依赖方 -> 依赖方”，用于按依赖逆序销毁
+     */
+    public DependencyGraph reverse() {
+        DependencyGraph reversed = new DependencyGraph();
+        dependencies.forEach((beanName, dependencyNames) -> {
+            reversed.addNode(beanName);
+            for (String dependencyName : dependencyNames) {
+                reversed.addEdge(dependencyName, beanName);
+            }
+        });
+        return reversed;
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.programmerchenyu.beans.factory.graph;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 把依赖图导出为 Graphviz DOT 或 JSON，便于查看容器的启动结构
+ * @author 爱吃小鱼的橙子
+ */
+public class DependencyGraphExporter {
+
+    private DependencyGraphExporter() {
+    }
+
+    /**
+     * 按文件扩展名选择格式：.json 导出 JSON，其余导出 DOT
+     */
+    public static String export(String fileName, DependencyGraph graph, Map<String, Class<?>> beanTypes) {
+        return fileName.endsWith(".json") ? toJson(graph, beanTypes) : toDot(graph, beanTypes);
+    }
+
+    /**
+     * @param beanTypes bean 名称 -> bean 类型，用作节点的提示信息
+     */
+    public static String toDot(DependencyGraph graph, Map<String, Class<?>> beanTypes) {
+        StringBuilder dot = new StringBuilder("digraph beans {\n    rankdir=LR;\n    node [shape=box];\n");
+        for (String beanName : graph.getBeanNames()) {
+            dot.append("    ").append(quote(beanName));
+            Class<?> beanType = beanTypes.get(beanName);
+            if (beanType != null) {
+                dot.append(" [tooltip=").append(quote(beanType.getName())).append(']');
+            }
+            dot.append(";\n");
+        }
+        for (String beanName : graph.getBeanNames()) {
+            for (String dependencyName : graph.getDependencies(beanName)) {
+                dot.append("    ").append(quote(beanName)).append(" -> ").append(quote(dependencyName)).append(";\n");
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * 格式为 {"beans":[{"name":..., "type":..., "dependencies":[...]}]}
+     */
+    public static String toJson(DependencyGraph graph, Map<String, Class<?>> beanTypes) {
+        StringBuilder json = new StringBuilder("{\n  \"beans\": [");
+        Iterator<String> beanNames = graph.getBeanNames().iterator();
+        while (beanNames.hasNext()) {
+            String beanName = beanNames.next();
+            Class<?> beanType = beanTypes.get(beanName);
+            json.append("\n    {\"name\": ").append(quote(beanName))
+                    .append(", \"type\": ").append(beanType != null ? quote(beanType.getName()) : "null")
+                    .append(", \"dependencies\": [");
+            Iterator<String> dependencyNames = graph.getDependencies(beanName).iterator();
+            while (dependencyNames.hasNext()) {
+                json.append(quote(dependencyNames.next()));
+                if (dependencyNames.hasNext()) {
+                    json.append(", ");
+                }
+            }
+            json.append("]}");
+            if (beanNames.hasNext()) {
+                json.append(',');
+            }
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    /**
+     * DOT 与 JSON 的字符串字面量转义规则在 bean 名称和类名的范围内一致
+     */
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
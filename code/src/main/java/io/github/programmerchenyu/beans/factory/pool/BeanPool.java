@@ -0,0 +1,61 @@
+package io.github.programmerchenyu.beans.factory.pool;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单个 bean 的有界对象池。空闲列表是无锁队列，容量通过计数器先占位再入队来保证不超过上限
+ * @author 爱吃小鱼的橙子
+ */
+public class BeanPool {
+
+    private final ConcurrentLinkedQueue<Object> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final int maxIdle;
+    private final PoolMetrics metrics = new PoolMetrics(this);
+
+    public BeanPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * 借出一个空闲对象，池为空时返回 null，由调用方新建
+     */
+    public Object poll() {
+        Object instance = idle.poll();
+        if (instance != null) {
+            idleCount.decrementAndGet();
+            metrics.recordReused();
+        }
+        return instance;
+    }
+
+    /**
+     * 归还已重置的对象，池已满时丢弃并返回 false
+     */
+    public boolean offer(Object instance) {
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            metrics.recordEvicted();
+            return false;
+        }
+        idle.offer(instance);
+        metrics.recordReturned();
+        return true;
+    }
+
+    /**
+     * 重置失败的对象不再放回池中
+     */
+    public void evict() {
+        metrics.recordEvicted();
+    }
+
+    int getIdleCount() {
+        return idleCount.get();
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+}
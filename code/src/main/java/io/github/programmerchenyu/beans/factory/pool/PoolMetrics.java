@@ -0,0 +1,68 @@
+package io.github.programmerchenyu.beans.factory.pool;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个 bean 对象池的统计信息，计数器使用 LongAdder，并发借还时不会互相争用
+ * @author 爱吃小鱼的橙子
+ */
+public class PoolMetrics {
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final BeanPool pool;
+
+    PoolMetrics(BeanPool pool) {
+        this.pool = pool;
+    }
+
+    void recordReused() {
+        reused.increment();
+    }
+
+    void recordReturned() {
+        returned.increment();
+    }
+
+    void recordEvicted() {
+        evicted.increment();
+    }
+
+    /**
+     * 池中没有空闲对象、新建了一个实例
+     */
+    public void recordCreated() {
+        created.increment();
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public long getReused() {
+        return reused.sum();
+    }
+
+    public long getReturned() {
+        return returned.sum();
+    }
+
+    /**
+     * 归还时池已满或重置失败而被丢弃的实例数
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    public int getIdle() {
+        return pool.getIdleCount();
+    }
+
+    @Override
+    public String toString() {
+        return "created=" + getCreated() + ", reused=" + getReused() + ", returned=" + getReturned()
+                + ", evicted=" + getEvicted() + ", idle=" + getIdle();
+    }
+}
@@ -0,0 +1,331 @@
+package io.github.programmerchenyu.beans.factory.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 为具体类生成延迟代理子类的字节码。
+ * 子类持有一个 {@link LazyTarget} 字段，唯一的构造器调用父类的无参构造器，其余每个方法都只做一件事：取出真实对象并转发调用。
+ * 方法体没有分支，因此不需要 StackMapTable。存在无法转发的方法时拒绝生成，避免调用落到代理对象自身上
+ * @author 爱吃小鱼的橙子
+ */
+class ClassProxyGenerator {
+
+    static final String TARGET_FIELD = "$testNexusLazyTarget";
+
+    static final String PROXY_SUFFIX = "$$TestNexusLazy";
+
+    private static final int CLASS_VERSION = 52;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_PROTECTED = 0x0004;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_VARARGS = 0x0080;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final String LAZY_TARGET = LazyTarget.class.getName().replace('.', '/');
+
+    private final Class<?> superClass;
+    private final String superName;
+    private final String proxyName;
+    private final ConstantPool constantPool = new ConstantPool();
+
+    ClassProxyGenerator(Class<?> superClass) {
+        this.superClass = superClass;
+        this.superName = superClass.getName().replace('.', '/');
+        this.proxyName = superName + PROXY_SUFFIX;
+    }
+
+    /**
+     * @throws IllegalArgumentException 父类没有可调用的无参构造器，或存在无法转发的方法
+     */
+    byte[] generate() {
+        checkConstructor();
+        List<Method> methods = collectOverridableMethods();
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(constantPool.classRef(proxyName));
+            out.writeShort(constantPool.classRef(superName));
+            // interfaces
+            out.writeShort(0);
+            // fields
+            out.writeShort(1);
+            out.writeShort(ACC_PRIVATE | ACC_SYNTHETIC);
+            out.writeShort(constantPool.utf8(TARGET_FIELD));
+            out.writeShort(constantPool.utf8("L" + LAZY_TARGET + ";"));
+            out.writeShort(0);
+            // methods
+            out.writeShort(methods.size() + 1);
+            writeConstructor(out);
+            for (Method method : methods) {
+                writeForwardingMethod(out, method);
+            }
+            // attributes
+            out.writeShort(0);
+
+            ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(classFile);
+            header.writeInt(0xCAFEBABE);
+            header.writeShort(0);
+            header.writeShort(CLASS_VERSION);
+            constantPool.writeTo(header);
+            header.write(body.toByteArray());
+            return classFile.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 代理子类由同一运行时包中定义，父类的无参构造器只要不是 private 就可以调用
+     */
+    private void checkConstructor() {
+        try {
+            if (Modifier.isPrivate(superClass.getDeclaredConstructor().getModifiers())) {
+                throw new IllegalArgumentException("No-arg constructor is private: " + superClass.getName());
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No no-arg constructor: " + superClass.getName(), e);
+        }
+    }
+
+    /**
+     * 收集父类层次中的全部实例方法，子类中的声明优先；所有方法都必须能被代理子类重写并在目标对象上调用
+     */
+    private List<Method> collectOverridableMethods() {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Class<?> type = superClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                addIfOverridable(methods, method);
+            }
+            for (Class<?> anInterface : type.getInterfaces()) {
+                for (Method method : anInterface.getMethods()) {
+                    addIfOverridable(methods, method);
+                }
+            }
+        }
+        for (String name : new String[]{"equals", "hashCode", "toString"}) {
+            for (Method method : Object.class.getDeclaredMethods()) {
+                if (method.getName().equals(name)) {
+                    addIfOverridable(methods, method);
+                }
+            }
+        }
+        return new ArrayList<>(methods.values());
+    }
+
+    private void addIfOverridable(Map<String, Method> methods, Method method) {
+        int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || method.isSynthetic()) {
+            return;
+        }
+        String key = method.getName() + descriptor(method);
+        if (methods.containsKey(key)) {
+            return;
+        }
+        // final 方法无法重写，跨包的包级/受保护方法无法在目标对象上调用，这些方法会在代理对象自身上执行
+        if (Modifier.isFinal(modifiers) || (!Modifier.isPublic(modifiers) && !isSameRuntimePackage(method.getDeclaringClass()))) {
+            throw new IllegalArgumentException("Method cannot be forwarded by a lazy proxy: " + method);
+        }
+        methods.put(key, method);
+    }
+
+    private boolean isSameRuntimePackage(Class<?> type) {
+        return type.getClassLoader() == superClass.getClassLoader()
+                && Objects.equals(type.getPackageName(), superClass.getPackageName());
+    }
+
+    /**
+     * public 无参构造器：aload_0; invokespecial 父类.<init>()V; return
+     */
+    private void writeConstructor(DataOutputStream out) throws IOException {
+        out.writeShort(ACC_PUBLIC | ACC_SYNTHETIC);
+        out.writeShort(constantPool.utf8("<init>"));
+        out.writeShort(constantPool.utf8("()V"));
+        out.writeShort(1);
+        ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBytes);
+        code.writeByte(0x2A);
+        code.writeByte(0xB7);
+        code.writeShort(constantPool.methodRef(superName, "<init>", "()V"));
+        code.writeByte(0xB1);
+        writeCode(out, codeBytes.toByteArray(), 1, 1);
+    }
+
+    private void writeForwardingMethod(DataOutputStream out, Method method) throws IOException {
+        int modifiers = method.getModifiers();
+        int access = (modifiers & (ACC_PUBLIC | ACC_PROTECTED)) | (method.isVarArgs() ? ACC_VARARGS : 0) | ACC_SYNTHETIC;
+        String descriptor = descriptor(method);
+        out.writeShort(access);
+        out.writeShort(constantPool.utf8(method.getName()));
+        out.writeShort(constantPool.utf8(descriptor));
+        // Code 属性
+        out.writeShort(1);
+        ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBytes);
+        // aload_0; getfield; invokevirtual LazyTarget.get; checkcast
+        code.writeByte(0x2A);
+        code.writeByte(0xB4);
+        code.writeShort(constantPool.fieldRef(proxyName, TARGET_FIELD, "L" + LAZY_TARGET + ";"));
+        code.writeByte(0xB6);
+        code.writeShort(constantPool.methodRef(LAZY_TARGET, "get", "()Ljava/lang/Object;"));
+        code.writeByte(0xC0);
+        code.writeShort(constantPool.classRef(superName));
+        int slot = 1;
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            code.writeByte(loadOpcode(parameterType));
+            code.writeByte(slot);
+            slot += slotSize(parameterType);
+        }
+        code.writeByte(0xB6);
+        code.writeShort(constantPool.methodRef(superName, method.getName(), descriptor));
+        code.writeByte(returnOpcode(method.getReturnType()));
+
+        writeCode(out, codeBytes.toByteArray(), Math.max(slot, slotSize(method.getReturnType())), slot);
+    }
+
+    private void writeCode(DataOutputStream out, byte[] instructions, int maxStack, int maxLocals) throws IOException {
+        ByteArrayOutputStream attribute = new ByteArrayOutputStream();
+        DataOutputStream attributeOut = new DataOutputStream(attribute);
+        attributeOut.writeShort(maxStack);
+        attributeOut.writeShort(maxLocals);
+        attributeOut.writeInt(instructions.length);
+        attributeOut.write(instructions);
+        // exception_table_length、attributes_count
+        attributeOut.writeShort(0);
+        attributeOut.writeShort(0);
+
+        out.writeShort(constantPool.utf8("Code"));
+        out.writeInt(attribute.size());
+        out.write(attribute.toByteArray());
+    }
+
+    private static int loadOpcode(Class<?> type) {
+        if (type == long.class) {
+            return 0x16;
+        } else if (type == float.class) {
+            return 0x17;
+        } else if (type == double.class) {
+            return 0x18;
+        } else if (type.isPrimitive()) {
+            return 0x15;
+        }
+        return 0x19;
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (type == void.class) {
+            return 0xB1;
+        } else if (type == long.class) {
+            return 0xAD;
+        } else if (type == float.class) {
+            return 0xAE;
+        } else if (type == double.class) {
+            return 0xAF;
+        } else if (type.isPrimitive()) {
+            return 0xAC;
+        }
+        return 0xB0;
+    }
+
+    private static int slotSize(Class<?> type) {
+        if (type == void.class) {
+            return 0;
+        }
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    static String descriptor(Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            descriptor.append(parameterType.descriptorString());
+        }
+        return descriptor.append(')').append(method.getReturnType().descriptorString()).toString();
+    }
+
+    /**
+     * 只支持生成代理所需的几类常量
+     */
+    private static class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return index("U" + value, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int nameIndex = utf8(internalName);
+            return index("C" + internalName, () -> {
+                out.writeByte(7);
+                out.writeShort(nameIndex);
+            });
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int classIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndTypeIndex = index("N" + name + ":" + descriptor, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return index("M" + tag + owner + "." + name + descriptor, () -> {
+                out.writeByte(tag);
+                out.writeShort(classIndex);
+                out.writeShort(nameAndTypeIndex);
+            });
+        }
+
+        private int index(String key, ConstantWriter writer) {
+            Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            indexes.put(key, count);
+            return count++;
+        }
+
+        void writeTo(DataOutputStream header) throws IOException {
+            header.writeShort(count);
+            header.write(bytes.toByteArray());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConstantWriter {
+        void write() throws IOException;
+    }
+}
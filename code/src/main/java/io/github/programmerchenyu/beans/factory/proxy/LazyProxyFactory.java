@@ -0,0 +1,149 @@
+package io.github.programmerchenyu.beans.factory.proxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 延迟注入代理工厂：接口类型使用 JDK 动态代理，具体类使用生成的子类，真实对象在第一次调用方法时才通过容器获取。
+ * 子类实例通过目标类的无参构造器创建，但不执行任何生命周期方法，重量级的初始化应放在 @InitBefore、@InitAfter 中；
+ * 无参构造器为 private、含有 final 实例方法或跨包的非 public 方法的类无法完整转发，不生成代理
+ * @author 爱吃小鱼的橙子
+ */
+public class LazyProxyFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // 接口 -> 各方法的调用句柄
+    private static final ClassValue<InterfaceProxy> INTERFACE_PROXIES = new ClassValue<InterfaceProxy>() {
+        @Override
+        protected InterfaceProxy computeValue(Class<?> type) {
+            return new InterfaceProxy();
+        }
+    };
+
+    // 具体类 -> 代理子类信息，无法生成代理的类记为 UNSUPPORTED
+    private static final ClassValue<ClassProxy> CLASS_PROXIES = new ClassValue<ClassProxy>() {
+        @Override
+        protected ClassProxy computeValue(Class<?> type) {
+            return ClassProxy.create(type);
+        }
+    };
+
+    /**
+     * 判断该类型能否生成延迟代理，不能时调用方应直接注入真实对象
+     */
+    public static boolean isProxyable(Class<?> type) {
+        if (type.isInterface()) {
+            return true;
+        }
+        return CLASS_PROXIES.get(type) != ClassProxy.UNSUPPORTED;
+    }
+
+    public static Object createProxy(Class<?> type, Supplier<Object> supplier) {
+        return createProxy(type, new LazyTarget(supplier));
+    }
+
+    /**
+     * 作用域代理：每次调用都通过 supplier 重新取出真实对象
+     */
+    public static Object createScopedProxy(Class<?> type, Supplier<Object> supplier) {
+        return createProxy(type, new LazyTarget(supplier, false));
+    }
+
+    /**
+     * 由调用方持有 {@link LazyTarget}，可以在真实对象失效后解除绑定
+     */
+    public static Object createProxy(Class<?> type, LazyTarget lazyTarget) {
+        if (type.isInterface()) {
+            ClassLoader classLoader = type.getClassLoader() != null ? type.getClassLoader() : LazyProxyFactory.class.getClassLoader();
+            InterfaceProxy interfaceProxy = INTERFACE_PROXIES.get(type);
+            return Proxy.newProxyInstance(classLoader, new Class<?>[]{type}, (proxy, method, args) -> {
+                Object[] arguments = args != null ? args : NO_ARGS;
+                return (Object) interfaceProxy.invoker(method).invokeExact(lazyTarget.get(), arguments);
+            });
+        }
+        return CLASS_PROXIES.get(type).newInstance(lazyTarget);
+    }
+
+    /**
+     * JDK 代理转发时使用的方法句柄，每个方法只解析一次。非 public 接口的方法通过该接口的私有 Lookup 解析，
+     * 不受反射访问检查限制
+     */
+    private static class InterfaceProxy {
+
+        private final Map<Method, MethodHandle> invokers = new ConcurrentHashMap<>();
+
+        MethodHandle invoker(Method method) {
+            return invokers.computeIfAbsent(method, InterfaceProxy::resolve);
+        }
+
+        private static MethodHandle resolve(Method method) {
+            Class<?> declaringClass = method.getDeclaringClass();
+            try {
+                MethodHandles.Lookup lookup = Modifier.isPublic(declaringClass.getModifiers())
+                        ? LOOKUP : MethodHandles.privateLookupIn(declaringClass, LOOKUP);
+                // 统一为 (Object, Object[])Object
+                return lookup.unreflect(method)
+                        .asFixedArity()
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + method + " for lazy proxy", e);
+            }
+        }
+    }
+
+    private static class ClassProxy {
+
+        static final ClassProxy UNSUPPORTED = new ClassProxy(null, null);
+
+        private final MethodHandle allocator;
+        private final MethodHandle targetSetter;
+
+        private ClassProxy(MethodHandle allocator, MethodHandle targetSetter) {
+            this.allocator = allocator;
+            this.targetSetter = targetSetter;
+        }
+
+        static ClassProxy create(Class<?> type) {
+            int modifiers = type.getModifiers();
+            if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isRecord() || type.isSealed()
+                    || Modifier.isFinal(modifiers) || type.getName().startsWith("java.")) {
+                return UNSUPPORTED;
+            }
+            try {
+                // 生成的子类与目标类在同一类加载器中，需要能看到同一个 LazyTarget
+                if (Class.forName(LazyTarget.class.getName(), false, type.getClassLoader()) != LazyTarget.class) {
+                    return UNSUPPORTED;
+                }
+                byte[] bytes = new ClassProxyGenerator(type).generate();
+                Class<?> proxyClass = MethodHandles.privateLookupIn(type, LOOKUP).defineClass(bytes);
+                MethodHandles.Lookup proxyLookup = MethodHandles.privateLookupIn(proxyClass, LOOKUP);
+                MethodHandle targetSetter = proxyLookup.findSetter(proxyClass, ClassProxyGenerator.TARGET_FIELD, LazyTarget.class);
+                MethodHandle allocator = proxyLookup.findConstructor(proxyClass, MethodType.methodType(void.class));
+                return new ClassProxy(allocator, targetSetter);
+            } catch (Throwable e) {
+                return UNSUPPORTED;
+            }
+        }
+
+        Object newInstance(LazyTarget lazyTarget) {
+            try {
+                Object proxy = allocator.invoke();
+                targetSetter.invoke(proxy, lazyTarget);
+                return proxy;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to create lazy proxy", e);
+            }
+        }
+    }
+}
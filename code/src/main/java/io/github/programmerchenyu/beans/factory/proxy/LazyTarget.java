@@ -0,0 +1,56 @@
+package io.github.programmerchenyu.beans.factory.proxy;
+
+import java.util.function.Supplier;
+
+/**
+ * 延迟代理背后的真实对象，首次访问时通过容器创建，之后一直复用，直到被 {@link #clear} 解除绑定；
+ * 不复用时每次访问都重新从容器获取，用于按调用线程切换真实对象的作用域代理
+ * @author 爱吃小鱼的橙子
+ */
+public final class LazyTarget {
+
+    private final Supplier<Object> supplier;
+
+    private final boolean reuse;
+
+    private volatile Object target;
+
+    public LazyTarget(Supplier<Object> supplier) {
+        this(supplier, true);
+    }
+
+    public LazyTarget(Supplier<Object> supplier, boolean reuse) {
+        this.supplier = supplier;
+        this.reuse = reuse;
+    }
+
+    public Object get() {
+        if (!reuse) {
+            return supplier.get();
+        }
+        Object result = target;
+        if (result == null) {
+            synchronized (this) {
+                result = target;
+                if (result == null) {
+                    result = supplier.get();
+                    target = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 真实对象仍为 expected 时解除绑定，下一次访问重新从容器获取，例如池化对象归还之后
+     */
+    public synchronized void clear(Object expected) {
+        if (target == expected) {
+            target = null;
+        }
+    }
+
+    public boolean isResolved() {
+        return target != null;
+    }
+}
@@ -4,6 +4,7 @@ import io.github.programmerchenyu.beans.BeanDefinition;
 import io.github.programmerchenyu.chain.dependency.processor.DependencyInjectionProcessor;
 import io.github.programmerchenyu.chain.dependency.processor.impl.BeanMethodsProcessor;
 import io.github.programmerchenyu.chain.dependency.processor.impl.ConfigurationClassProcessor;
+import io.github.programmerchenyu.chain.dependency.processor.impl.GeneratedWiringProcessor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +18,7 @@ public class DependencyInjectionChain {
     private List<DependencyInjectionProcessor> processorList = new ArrayList<>();
 
     public DependencyInjectionChain() {
+        this.addProcessor(new GeneratedWiringProcessor());
         this.addProcessor(new ConfigurationClassProcessor());
         this.addProcessor(new BeanMethodsProcessor());
     }
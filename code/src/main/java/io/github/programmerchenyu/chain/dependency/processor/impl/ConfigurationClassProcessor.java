@@ -51,8 +51,8 @@ public class ConfigurationClassProcessor implements DependencyInjectionProcessor
         }
     }
 
-    private void scanPackageForComponents(String basePackage, Map<String, BeanDefinition> beanDefinitions) {
-        List<Class<?>> classes = ClassScanner.scanClasses(basePackage);
+    void scanPackageForComponents(String basePackage, Map<String, BeanDefinition> beanDefinitions) {
+        List<Class<?>> classes = ClassScanner.scanComponentClasses(basePackage);
         classes.forEach(clazz -> registerComponentClass(clazz, beanDefinitions));
     }
 
@@ -0,0 +1,59 @@
+package io.github.programmerchenyu.chain.dependency.processor.impl;
+
+import io.github.programmerchenyu.beans.BeanDefinition;
+import io.github.programmerchenyu.beans.factory.aot.GeneratedWiring;
+import io.github.programmerchenyu.chain.dependency.DependencyInjectionChain;
+import io.github.programmerchenyu.chain.dependency.processor.DependencyInjectionProcessor;
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+import io.github.programmerchenyu.enums.chain.ProcessorEnum;
+
+import java.util.Map;
+
+/**
+ * 生成代码处理器：配置类存在编译期生成的装配代码时直接使用，跳过对配置类的反射解析；
+ * 没有生成代码的配置类按原顺序交给后续处理器
+ * @author 爱吃小鱼的橙子
+ */
+public class GeneratedWiringProcessor implements DependencyInjectionProcessor {
+
+    private final ConfigurationClassProcessor configurationClassProcessor = new ConfigurationClassProcessor();
+
+    @Override
+    public Boolean process(DependencyInjectionChain processChain, Integer processIndex, Object arg, Map<String, BeanDefinition> beanDefinitions) {
+        Class<?>[] configClasses = (Class<?>[]) arg;
+        boolean enabled = Boolean.parseBoolean(System.getProperty(TestNexusProperties.AOT, "true"));
+        boolean result = true;
+        for (Class<?> configClass : configClasses) {
+            GeneratedWiring wiring = enabled ? loadGeneratedWiring(configClass) : null;
+            if (wiring == null) {
+                result &= processChain.process(processChain, ProcessorEnum.CONFIGURATION_CLASS.getIndex(), new Class<?>[]{configClass}, beanDefinitions);
+                continue;
+            }
+            wiring.registerBeanDefinitions(beanDefinitions);
+            if (Boolean.parseBoolean(System.getProperty(TestNexusProperties.AOT_SCAN, "true"))) {
+                // 其他 jar 或单独编译的组件在生成时不可见，已注册的同名定义不会被覆盖
+                for (String basePackage : wiring.getScanPackages()) {
+                    configurationClassProcessor.scanPackageForComponents(basePackage, beanDefinitions);
+                }
+            }
+        }
+        return result;
+    }
+
+    private GeneratedWiring loadGeneratedWiring(Class<?> configClass) {
+        Class<?> wiringClass;
+        try {
+            wiringClass = Class.forName(configClass.getName() + GeneratedWiring.SUFFIX, true, configClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!GeneratedWiring.class.isAssignableFrom(wiringClass)) {
+            return null;
+        }
+        try {
+            return (GeneratedWiring) wiringClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to load generated wiring: " + wiringClass.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.programmerchenyu.constants.config;
+
+/**
+ * 可通过 -D 系统属性调整的框架开关
+ * @author 爱吃小鱼的橙子
+ */
+public class TestNexusProperties {
+
+    // 是否优先读取编译期生成的组件索引，默认开启
+    public static final String SCAN_INDEX = "testnexus.scan.index";
+
+    // 回退扫描时是否先解析类文件字节过滤组件，默认开启
+    public static final String SCAN_BYTECODE_FILTER = "testnexus.scan.bytecode";
+
+    // 是否启用组件扫描结果的磁盘缓存，默认关闭
+    public static final String SCAN_CACHE = "testnexus.scan.cache";
+
+    // 扫描缓存文件位置，默认 target/test-nexus/scan-cache.properties
+    public static final String SCAN_CACHE_FILE = "testnexus.scan.cache.file";
+
+    // 成员访问方式：methodhandle（默认）或 reflection
+    public static final String ACCESSOR_MODE = "testnexus.accessor";
+
+    // 是否在第一个测试类实例化前按依赖顺序并发创建单例，默认关闭
+    public static final String EAGER_INIT = "testnexus.eager";
+
+    // 预创建时是否只创建当前 <test> 块的测试类可达的单例，默认开启
+    public static final String EAGER_PRUNE = "testnexus.eager.prune";
+
+    // 套件结束时是否输出本次运行中没有任何测试类可达的 bean 定义，默认关闭
+    public static final String REPORT_UNREACHABLE = "testnexus.report.unreachable";
+
+    // 是否在创建 bean 之前校验全部依赖（缺失、歧义、无法打破的循环），有问题时一次性报告，默认关闭
+    public static final String VALIDATE = "testnexus.validate";
+
+    // 依赖图导出文件，扩展名为 .json 时导出 JSON，否则导出 Graphviz DOT；未设置时不导出
+    public static final String GRAPH_EXPORT = "testnexus.graph.export";
+
+    // 并发创建单例的线程数，默认为 CPU 核数
+    public static final String EAGER_PARALLELISM = "testnexus.eager.parallelism";
+
+    // 配置类相同的 <test> 块是否共享同一个容器，默认开启
+    public static final String SHARED_CONTEXT = "testnexus.context.shared";
+
+    // 池化作用域每个 bean 最多保留的空闲对象数，默认 64
+    public static final String POOL_MAX_IDLE = "testnexus.pool.max-idle";
+
+    // 单个 bean 的 @Destroy 超时时间（毫秒），默认 30000
+    public static final String DESTROY_TIMEOUT = "testnexus.destroy.timeout";
+
+    // 并发销毁单例的线程数，默认为 CPU 核数
+    public static final String DESTROY_PARALLELISM = "testnexus.destroy.parallelism";
+
+    // 是否统计容器启动与 bean 生命周期耗时，并在套件结束时输出报告，默认关闭
+    public static final String METRICS = "testnexus.metrics";
+
+    // 报告中列出的最慢 bean 数量，默认 10
+    public static final String METRICS_TOP = "testnexus.metrics.top";
+
+    // 配置类存在编译期生成的装配代码时是否使用，默认开启
+    public static final String AOT = "testnexus.aot";
+
+    // 使用生成的装配代码时是否仍扫描 @ComponentScan 的包，补充编译期不可见的组件，默认开启
+    public static final String AOT_SCAN = "testnexus.aot.scan";
+}
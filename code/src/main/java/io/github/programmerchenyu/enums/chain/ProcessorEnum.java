@@ -5,9 +5,10 @@ package io.github.programmerchenyu.enums.chain;
  */
 public enum ProcessorEnum {
 
-    CONFIGURATION_CLASS(0),
-    BEAN_METHODS(1),
-    END(2);
+    GENERATED_WIRING(0),
+    CONFIGURATION_CLASS(1),
+    BEAN_METHODS(2),
+    END(3);
 
     private final Integer index;
 
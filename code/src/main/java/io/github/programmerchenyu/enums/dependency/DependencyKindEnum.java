@@ -0,0 +1,44 @@
+package io.github.programmerchenyu.enums.dependency;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 注入点依赖的形式：单个 bean，或按元素类型收集全部匹配 bean 的集合、Map、Optional
+ * @author 爱吃小鱼的橙子
+ */
+public enum DependencyKindEnum {
+
+    SINGLE,
+    // 按 bean 名称排序的不可变 List
+    LIST,
+    // 按 bean 名称排序的不可变 Set
+    SET,
+    // 声明为 Collection 时注入不可变 List
+    COLLECTION,
+    // bean 名称 -> bean，键类型必须为 String
+    MAP,
+    // 没有匹配的 bean 时为 Optional.empty()
+    OPTIONAL;
+
+    /**
+     * 按声明类型判断依赖形式，只识别这几个接口本身，其他类型（包括它们的实现类）按单个 bean 注入
+     */
+    public static DependencyKindEnum of(Class<?> type) {
+        if (type == List.class) {
+            return LIST;
+        } else if (type == Set.class) {
+            return SET;
+        } else if (type == Collection.class) {
+            return COLLECTION;
+        } else if (type == Map.class) {
+            return MAP;
+        } else if (type == Optional.class) {
+            return OPTIONAL;
+        }
+        return SINGLE;
+    }
+}
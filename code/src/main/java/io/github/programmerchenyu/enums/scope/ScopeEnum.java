@@ -0,0 +1,20 @@
+package io.github.programmerchenyu.enums.scope;
+
+/**
+ * 注入点的作用域
+ * @author 爱吃小鱼的橙子
+ */
+public enum ScopeEnum {
+
+    // 由 @Autowired 的 singleton 属性决定
+    DEFAULT,
+    SINGLETON,
+    PROTOTYPE,
+    // 从按 bean 划分的有界对象池中借出，使用者结束后执行 @Reset 并归还；
+    // 测试实例在 <test> 块开始前就已全部创建，配合 @Lazy 可以推迟到真正使用时再借出，
+    // 并且在测试方法的每次调用（包括 @DataProvider 的每一行）结束后归还，下一次调用重新借出
+    POOLED,
+    // 每个线程持有一个实例，适合并行执行时线程不安全的有状态对象；线程结束或容器关闭时执行 @Destroy。
+    // 虚拟线程上按 POOLED 处理
+    THREAD
+}
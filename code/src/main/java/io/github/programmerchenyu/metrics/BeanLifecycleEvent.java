@@ -0,0 +1,34 @@
+package io.github.programmerchenyu.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * bean 生命周期阶段的 JFR 事件，在 JFR 录制启用该事件时才会产生
+ * @author 爱吃小鱼的橙子
+ */
+@Name("io.github.programmerchenyu.BeanLifecycle")
+@Label("Bean Lifecycle")
+@Category({"TestNexus", "Beans"})
+@Description("Time spent in one lifecycle phase of a bean")
+@StackTrace(false)
+class BeanLifecycleEvent extends Event {
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Singleton")
+    boolean singleton;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -0,0 +1,26 @@
+package io.github.programmerchenyu.metrics;
+
+/**
+ * 单个 bean 的生命周期阶段
+ * @author 爱吃小鱼的橙子
+ */
+public enum BeanPhase {
+
+    INSTANTIATE("instantiate"),
+    // 包含依赖 bean 的创建时间
+    INJECT("inject"),
+    INIT_BEFORE("@InitBefore"),
+    INIT_AFTER("@InitAfter"),
+    INIT_AFTER_ASYNC("@InitAfter(async)"),
+    DESTROY("@Destroy");
+
+    private final String label;
+
+    BeanPhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.programmerchenyu.metrics;
+
+/**
+ * 容器启动阶段
+ * @author 爱吃小鱼的橙子
+ */
+public enum ContainerPhase {
+
+    // DependencyInjectionChain 处理全部配置类
+    CONFIGURATION_CHAIN("configuration chain"),
+    // ClassScanner 扫描单个基础包
+    CLASS_SCAN("class scan"),
+    // 校验 bean 定义的依赖
+    VALIDATION("validation");
+
+    private final String label;
+
+    ContainerPhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.programmerchenyu.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 容器启动阶段的 JFR 事件，在 JFR 录制启用该事件时才会产生
+ * @author 爱吃小鱼的橙子
+ */
+@Name("io.github.programmerchenyu.ContainerPhase")
+@Label("Container Phase")
+@Category({"TestNexus", "Container"})
+@Description("Time spent in one container startup phase")
+@StackTrace(false)
+class ContainerPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Detail")
+    String detail;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
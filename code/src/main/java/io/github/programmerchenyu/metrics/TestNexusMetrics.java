@@ -0,0 +1,160 @@
+package io.github.programmerchenyu.metrics;
+
+import io.github.programmerchenyu.constants.config.TestNexusProperties;
+import jdk.jfr.EventType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 容器与 bean 生命周期的计时入口。-Dtestnexus.metrics=true 时累积内存计数器和延迟直方图，
+ * 并在套件结束时输出报告；JFR 录制启用了对应事件时发出 JFR 事件。两者都关闭时 begin 返回 0，
+ * 调用方只多一次布尔判断
+ * @author 爱吃小鱼的橙子
+ */
+public class TestNexusMetrics {
+
+    private static final boolean ENABLED = Boolean.getBoolean(TestNexusProperties.METRICS);
+
+    private static final EventType BEAN_EVENT_TYPE = EventType.getEventType(BeanLifecycleEvent.class);
+
+    private static final EventType CONTAINER_EVENT_TYPE = EventType.getEventType(ContainerPhaseEvent.class);
+
+    private static final Map<ContainerPhase, LatencyHistogram> CONTAINER_PHASES = new EnumMap<>(ContainerPhase.class);
+
+    private static final Map<String, BeanStats> BEANS = new ConcurrentHashMap<>();
+
+    static {
+        for (ContainerPhase phase : ContainerPhase.values()) {
+            CONTAINER_PHASES.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * 开始计时 bean 生命周期阶段，未启用时返回 0
+     */
+    public static long beginBeanPhase() {
+        return ENABLED || BEAN_EVENT_TYPE.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public static void endBeanPhase(String beanName, BeanPhase phase, boolean singleton, long start) {
+        if (start == 0L) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (ENABLED) {
+            BeanStats stats = BEANS.computeIfAbsent(beanName, key -> new BeanStats());
+            stats.phases.get(phase).record(elapsed);
+            if (phase == BeanPhase.INSTANTIATE) {
+                (singleton ? stats.singletonCreations : stats.prototypeCreations).increment();
+            }
+        }
+        BeanLifecycleEvent event = new BeanLifecycleEvent();
+        if (event.shouldCommit()) {
+            event.beanName = beanName;
+            event.phase = phase.getLabel();
+            event.singleton = singleton;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+
+    /**
+     * 开始计时容器启动阶段，未启用时返回 0
+     */
+    public static long beginContainerPhase() {
+        return ENABLED || CONTAINER_EVENT_TYPE.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public static void endContainerPhase(ContainerPhase phase, String detail, long start) {
+        if (start == 0L) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (ENABLED) {
+            CONTAINER_PHASES.get(phase).record(elapsed);
+        }
+        ContainerPhaseEvent event = new ContainerPhaseEvent();
+        if (event.shouldCommit()) {
+            event.phase = phase.getLabel();
+            event.detail = detail;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+
+    /**
+     * 生成报告：各启动阶段的耗时分布、总耗时最长的 bean 及其各阶段耗时、每个 bean 的原型创建次数
+     * @param top 列出最慢的 bean 数量
+     */
+    public static String report(int top) {
+        StringBuilder report = new StringBuilder("===== TestNexus container metrics =====").append(System.lineSeparator());
+        report.append("Container phases:").append(System.lineSeparator());
+        CONTAINER_PHASES.forEach((phase, histogram) -> {
+            if (histogram.getCount() > 0) {
+                report.append(String.format("  %-20s count=%d total=%s p50=%s p99=%s max=%s%n", phase.getLabel(), histogram.getCount(),
+                        millis(histogram.getTotalNanos()), millis(histogram.getPercentileNanos(50)),
+                        millis(histogram.getPercentileNanos(99)), millis(histogram.getMaxNanos())));
+            }
+        });
+        List<Map.Entry<String, BeanStats>> beans = new ArrayList<>(BEANS.entrySet());
+        beans.sort(Comparator.comparingLong((Map.Entry<String, BeanStats> entry) -> entry.getValue().totalNanos()).reversed());
+        report.append("Slowest beans (total time, inject includes dependencies):").append(System.lineSeparator());
+        for (Map.Entry<String, BeanStats> entry : beans.subList(0, Math.min(top, beans.size()))) {
+            report.append(String.format("  %-30s total=%s", entry.getKey(), millis(entry.getValue().totalNanos())));
+            entry.getValue().phases.forEach((phase, histogram) -> {
+                if (histogram.getCount() > 0) {
+                    report.append(' ').append(phase.getLabel()).append('=').append(millis(histogram.getTotalNanos()));
+                }
+            });
+            report.append(System.lineSeparator());
+        }
+        report.append("Prototype creations:").append(System.lineSeparator());
+        beans.sort(Comparator.comparingLong((Map.Entry<String, BeanStats> entry) -> entry.getValue().prototypeCreations.sum()).reversed());
+        for (Map.Entry<String, BeanStats> entry : beans) {
+            long prototypeCreations = entry.getValue().prototypeCreations.sum();
+            if (prototypeCreations > 0) {
+                report.append(String.format("  %-30s %d%n", entry.getKey(), prototypeCreations));
+            }
+        }
+        return report.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
+    }
+
+    private static class BeanStats {
+        private final Map<BeanPhase, LatencyHistogram> phases = new EnumMap<>(BeanPhase.class);
+        private final LongAdder singletonCreations = new LongAdder();
+        private final LongAdder prototypeCreations = new LongAdder();
+
+        private BeanStats() {
+            for (BeanPhase phase : BeanPhase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        /**
+         * 注入阶段包含依赖的创建时间，不计入总耗时，避免重复统计
+         */
+        private long totalNanos() {
+            long total = 0;
+            for (Map.Entry<BeanPhase, LatencyHistogram> entry : phases.entrySet()) {
+                if (entry.getKey() != BeanPhase.INJECT) {
+                    total += entry.getValue().getTotalNanos();
+                }
+            }
+            return total;
+        }
+    }
+}
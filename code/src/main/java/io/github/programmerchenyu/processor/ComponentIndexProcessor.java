@@ -0,0 +1,150 @@
+package io.github.programmerchenyu.processor;
+
+import io.github.programmerchenyu.base.ComponentIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 编译期生成组件索引，运行时扫描 @ComponentScan 时直接读取索引而不再遍历 classpath。
+ * 声明处理所有注解，保证本次编译中没有任何组件时也会被调用，从而清理旧索引中已失效的条目
+ * @author 爱吃小鱼的橙子
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    static final String COMPONENT = "io.github.programmerchenyu.beans.factory.annotation.Component";
+
+    static final String CONFIGURATION = "io.github.programmerchenyu.beans.factory.annotation.Configuration";
+
+    private final Set<String> components = new TreeSet<>();
+
+    // 已存在旧索引时即使不再有组件也要重写，避免留下指向已删除类的条目
+    private boolean existingIndex;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (String annotationName : new String[]{COMPONENT, CONFIGURATION}) {
+            TypeElement annotation = processingEnv.getElementUtils().getTypeElement(annotationName);
+            if (annotation == null) {
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind().isClass()) {
+                    // 使用二进制名称，保证内部类可以直接 Class.forName
+                    components.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            mergeExistingIndex();
+            if (!components.isEmpty() || existingIndex) {
+                writeIndex();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 增量编译时本轮只能看到被重新编译的类，需要保留旧索引中仍然有效的条目
+     */
+    private void mergeExistingIndex() {
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.COMPONENT_INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                existingIndex = true;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#") && isStillComponent(line)) {
+                        components.add(line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // 首次编译没有旧索引
+        }
+    }
+
+    private boolean isStillComponent(String className) {
+        TypeElement typeElement = findByBinaryName(className);
+        if (typeElement == null) {
+            return false;
+        }
+        for (AnnotationMirror mirror : typeElement.getAnnotationMirrors()) {
+            String name = mirror.getAnnotationType().toString();
+            if (COMPONENT.equals(name) || CONFIGURATION.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 类名中的 $ 既可能是内部类分隔符，也可能是名称本身的一部分：依次把每个 $ 之前的前缀当作顶层类查找，
+     * 再沿成员类比较 {@link javax.lang.model.util.Elements#getBinaryName} 找到目标
+     */
+    private TypeElement findByBinaryName(String binaryName) {
+        for (int end = binaryName.indexOf('$'); ; end = binaryName.indexOf('$', end + 1)) {
+            String topLevelName = end < 0 ? binaryName : binaryName.substring(0, end);
+            TypeElement topLevel = processingEnv.getElementUtils().getTypeElement(topLevelName);
+            TypeElement found = topLevel != null ? findMember(topLevel, binaryName) : null;
+            if (found != null || end < 0) {
+                return found;
+            }
+        }
+    }
+
+    private TypeElement findMember(TypeElement type, String binaryName) {
+        String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+        if (name.equals(binaryName)) {
+            return type;
+        }
+        if (!binaryName.startsWith(name + "$")) {
+            return null;
+        }
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            TypeElement found = findMember(member, binaryName);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.COMPONENT_INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# generated by test-nexus, do not edit\n");
+                for (String component : components) {
+                    writer.write(component);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write component index: " + e.getMessage());
+        }
+    }
+}
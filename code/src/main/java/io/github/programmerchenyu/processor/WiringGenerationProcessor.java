@@ -0,0 +1,789 @@
+package io.github.programmerchenyu.processor;
+
+import io.github.programmerchenyu.beans.factory.aot.GeneratedWiring;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * 编译期为每个 @Configuration 配置类生成装配代码（配置类名 + {@link GeneratedWiring#SUFFIX}），
+ * 运行时容器发现生成类后不再反射解析配置类和组件：实例化、@Bean 方法、可访问的字段与方法注入都是直接调用，
+ * 所有调用集中在一个按编号分派的 MemberInvoker 类中，不为每个成员生成 lambda。
+ * 同时在编译期检查装配错误：按接口注入时存在多个实现、生命周期方法带参数、@Bean 方法不可调用等直接报错，
+ * 编译期看不到的依赖只给出警告，因为它可能来自其他 jar 或其他配置类
+ * @author 爱吃小鱼的橙子
+ */
+@SupportedAnnotationTypes({ComponentIndexProcessor.COMPONENT, ComponentIndexProcessor.CONFIGURATION})
+public class WiringGenerationProcessor extends AbstractProcessor {
+
+    private static final String ANNOTATION_PACKAGE = "io.github.programmerchenyu.beans.factory.annotation.";
+    private static final String AUTOWIRED = ANNOTATION_PACKAGE + "Autowired";
+    private static final String BEAN = ANNOTATION_PACKAGE + "Bean";
+    private static final String COMPONENT_SCAN = ANNOTATION_PACKAGE + "ComponentScan";
+    private static final String LAZY = ANNOTATION_PACKAGE + "Lazy";
+    private static final String INIT_BEFORE = ANNOTATION_PACKAGE + "InitBefore";
+    private static final String INIT_AFTER = ANNOTATION_PACKAGE + "InitAfter";
+    private static final String DESTROY = ANNOTATION_PACKAGE + "Destroy";
+    private static final String RESET = ANNOTATION_PACKAGE + "Reset";
+
+    // 单个方法中的分派分支数和注册语句数上限，避免超过方法字节码长度限制
+    private static final int CASES_PER_METHOD = 256;
+
+    // 按集合形式注入的声明类型 -> DependencyKindEnum 常量名
+    private static final Map<String, String> DEPENDENCY_KINDS = Map.of("java.util.List", "LIST", "java.util.Set", "SET",
+            "java.util.Collection", "COLLECTION", "java.util.Map", "MAP", "java.util.Optional", "OPTIONAL");
+    private static final int STATEMENTS_PER_METHOD = 64;
+
+    // 所有轮次中见到的组件，按二进制名称排序，与运行时扫描的注册顺序一致
+    private final Map<String, TypeElement> components = new TreeMap<>();
+    private final Set<String> generatedConfigurations = new HashSet<>();
+    private final Set<String> reportedMessages = new HashSet<>();
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            return false;
+        }
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        TypeElement component = elements.getTypeElement(ComponentIndexProcessor.COMPONENT);
+        TypeElement configuration = elements.getTypeElement(ComponentIndexProcessor.CONFIGURATION);
+        if (component != null) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(component))) {
+                if (type.getKind() == ElementKind.CLASS) {
+                    components.put(elements.getBinaryName(type).toString(), type);
+                }
+            }
+        }
+        if (configuration != null) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(configuration))) {
+                if (type.getKind() == ElementKind.CLASS && generatedConfigurations.add(elements.getBinaryName(type).toString())) {
+                    new Generation(type).generate();
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 一个配置类的生成过程
+     */
+    private final class Generation {
+        private final TypeElement config;
+        private final String packageName;
+        private final String configName;
+        private final List<String> statements = new ArrayList<>();
+        private final List<String> cases = new ArrayList<>();
+        // 元数据在第一次使用时才构建，每个类一个构建方法
+        private final List<String> metadataFactories = new ArrayList<>();
+        // 生成的定义：bean 名称 -> 类型，用于编译期检查依赖
+        private final Map<String, TypeMirror> beans = new LinkedHashMap<>();
+        private final List<TypeElement> metadataClasses = new ArrayList<>();
+        // 类的二进制名称 -> 构造代码对应的 Invoker，无法直接构造时为 null
+        private final Map<String, String> constructorInvokers = new HashMap<>();
+
+        Generation(TypeElement config) {
+            this.config = config;
+            this.packageName = elements.getPackageOf(config).getQualifiedName().toString();
+            this.configName = Introspector.decapitalize(config.getSimpleName().toString());
+        }
+
+        void generate() {
+            if (!isAccessible(config) || isInnerClass(config)) {
+                report(Diagnostic.Kind.WARNING, config, "Configuration class is not accessible to generated wiring, it will be processed by reflection");
+                return;
+            }
+            String configDefinition = componentDefinition(config);
+            if (configDefinition == null) {
+                report(Diagnostic.Kind.WARNING, config, "Configuration class has no no-argument or @Autowired constructor, it will be processed by reflection");
+                return;
+            }
+            register(configName, config, configDefinition);
+            List<String> scanPackages = stringValues(mirror(config, COMPONENT_SCAN), "basePackages");
+            for (String basePackage : scanPackages) {
+                for (TypeElement component : components.values()) {
+                    String componentPackage = elements.getPackageOf(component).getQualifiedName().toString();
+                    if (componentPackage.equals(basePackage) || componentPackage.startsWith(basePackage + ".")) {
+                        registerComponent(component);
+                    }
+                }
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(config.getEnclosedElements())) {
+                AnnotationMirror bean = mirror(method, BEAN);
+                if (bean != null) {
+                    registerBeanMethod(method, (String) value(bean, "value"));
+                }
+            }
+            for (TypeElement type : metadataClasses) {
+                String metadata = metadata(type);
+                if (metadata != null) {
+                    metadataFactories.add(metadata);
+                    statements.add("BeanMetadata.register(" + typeName(type) + ".class, new Metadata(" + (metadataFactories.size() - 1) + "));");
+                }
+            }
+            write(scanPackages);
+        }
+
+        private void registerComponent(TypeElement component) {
+            String beanName = Introspector.decapitalize(component.getSimpleName().toString());
+            if (beans.containsKey(beanName)) {
+                return;
+            }
+            if (isInnerClass(component)) {
+                report(Diagnostic.Kind.WARNING, component, "Inner class component needs an enclosing instance and will be skipped, declare it static");
+                return;
+            }
+            String definition = componentDefinition(component);
+            if (definition == null) {
+                report(Diagnostic.Kind.WARNING, component, "Component has no no-argument or @Autowired constructor and will be skipped");
+                return;
+            }
+            register(beanName, component, definition);
+        }
+
+        private void register(String beanName, TypeElement type, String definition) {
+            statements.add("beanDefinitions.putIfAbsent(" + literal(beanName) + ", " + definition + ");");
+            beans.put(beanName, type.asType());
+            if (isAccessible(type)) {
+                metadataClasses.add(type);
+            }
+        }
+
+        /**
+         * 组件定义：实例化使用 @Autowired 构造器，没有时使用无参构造器；可访问时直接 new，否则退回反射定义。
+         * 两种构造器都没有时返回 null
+         */
+        private String componentDefinition(TypeElement type) {
+            ExecutableElement constructor = instantiationConstructor(type);
+            if (constructor == null) {
+                return null;
+            }
+            if (!isAccessible(type)) {
+                return "WiringSupport.definition(" + typeName(config) + ".class, " + literal(elements.getBinaryName(type).toString()) + ")";
+            }
+            String invoker = constructorInvoker(type, constructor);
+            if (invoker == null) {
+                return "WiringSupport.definition(" + typeName(type) + ".class)";
+            }
+            return "new BeanDefinition(" + typeName(type) + ".class, " + invoker + ")";
+        }
+
+        private ExecutableElement instantiationConstructor(TypeElement type) {
+            ExecutableElement noArgConstructor = null;
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (mirror(constructor, AUTOWIRED) != null) {
+                    return constructor;
+                }
+                if (constructor.getParameters().isEmpty()) {
+                    noArgConstructor = constructor;
+                }
+            }
+            return noArgConstructor;
+        }
+
+        /**
+         * 直接 new 的构造代码，参数按顺序从 args 中取出；同一个构造器的定义与注入点共用一个分支。
+         * 抽象类、构造器或参数类型不可访问时返回 null
+         */
+        private String constructorInvoker(TypeElement type, ExecutableElement constructor) {
+            String key = elements.getBinaryName(type).toString();
+            if (constructorInvokers.containsKey(key)) {
+                return constructorInvokers.get(key);
+            }
+            String invoker = null;
+            if (!type.getModifiers().contains(Modifier.ABSTRACT) && isAccessibleMember(constructor, type)) {
+                StringJoiner call = new StringJoiner(", ", "return new " + typeName(type) + "(", ");");
+                List<? extends VariableElement> parameters = constructor.getParameters();
+                for (int i = 0; i < parameters.size() && call != null; i++) {
+                    TypeMirror parameterType = types.erasure(parameters.get(i).asType());
+                    if (isTypeAccessible(parameterType)) {
+                        call.add("(" + typeLiteral(parameterType) + ") args[" + i + "]");
+                    } else {
+                        call = null;
+                    }
+                }
+                invoker = call != null ? invoker(call.toString()) : null;
+            }
+            constructorInvokers.put(key, invoker);
+            return invoker;
+        }
+
+        private void registerBeanMethod(ExecutableElement method, String value) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                report(Diagnostic.Kind.ERROR, method, "@Bean methods must not be private");
+                return;
+            }
+            if (!method.getParameters().isEmpty()) {
+                report(Diagnostic.Kind.ERROR, method, "@Bean methods must not have parameters");
+                return;
+            }
+            TypeMirror returnType = types.erasure(method.getReturnType());
+            if (returnType.getKind() == TypeKind.VOID) {
+                report(Diagnostic.Kind.ERROR, method, "@Bean methods must return the bean");
+                return;
+            }
+            String beanName = value.isEmpty() ? Introspector.decapitalize(simpleName(returnType)) : value;
+            if (beans.containsKey(beanName)) {
+                return;
+            }
+            boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+            String definition;
+            if (isTypeAccessible(returnType)) {
+                String call = (isStatic ? typeName(config) : "((" + typeName(config) + ") target)") + "." + method.getSimpleName() + "()";
+                definition = "new BeanDefinition(" + typeLiteral(returnType) + ".class, " + (isStatic ? "null" : literal(configName))
+                        + ", " + invoker("return " + call + ";") + ")";
+            } else {
+                definition = "new BeanDefinition(WiringSupport.method(" + typeName(config) + ".class, " + literal(method.getSimpleName().toString()) + "))";
+            }
+            statements.add("beanDefinitions.putIfAbsent(" + literal(beanName) + ", " + definition + ");");
+            beans.put(beanName, returnType);
+        }
+
+        /**
+         * 生成类的注入与生命周期元数据；注入点的类型无法在生成代码中引用时返回 null，运行时按反射解析
+         */
+        private String metadata(TypeElement type) {
+            boolean complete = true;
+            String constructorPoint = "null";
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (mirror(constructor, AUTOWIRED) != null) {
+                    checkDependencies(constructor, constructor.getParameters());
+                    constructorPoint = constructorInjectionPoint(type, constructor);
+                    complete &= constructorPoint != null;
+                    break;
+                }
+            }
+            List<String> fieldPoints = new ArrayList<>();
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                AnnotationMirror autowired = mirror(field, AUTOWIRED);
+                if (autowired == null) {
+                    continue;
+                }
+                checkDependency(field, field.asType(), autowired);
+                TypeMirror fieldType = types.erasure(field.asType());
+                Set<Modifier> modifiers = field.getModifiers();
+                if (isAccessibleMember(field, type) && isTypeAccessible(fieldType)
+                        && !modifiers.contains(Modifier.FINAL) && !modifiers.contains(Modifier.STATIC)) {
+                    String assignment = "((" + typeName(type) + ") target)." + field.getSimpleName() + " = (" + typeLiteral(fieldType) + ") args[0];\n"
+                            + "                    return null;";
+                    String point = injectionPoint(autowired, new TypeMirror[]{field.asType()}, new boolean[]{mirror(field, LAZY) != null}, () -> invoker(assignment));
+                    fieldPoints.add(point != null ? point
+                            : "new InjectionPoint(WiringSupport.field(" + typeName(type) + ".class, " + literal(field.getSimpleName().toString()) + "))");
+                } else {
+                    fieldPoints.add("new InjectionPoint(WiringSupport.field(" + typeName(type) + ".class, " + literal(field.getSimpleName().toString()) + "))");
+                }
+            }
+            List<String> methodPoints = new ArrayList<>();
+            List<List<String>> lifecycle = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                lifecycle.add(new ArrayList<>());
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                AnnotationMirror autowired = mirror(method, AUTOWIRED);
+                if (autowired != null && !method.getParameters().isEmpty()) {
+                    checkDependencies(method, method.getParameters());
+                    String point = methodInjectionPoint(type, method, autowired);
+                    if (point == null) {
+                        complete = false;
+                    } else {
+                        methodPoints.add(point);
+                    }
+                }
+                addLifecycleMethod(type, method, INIT_BEFORE, lifecycle.get(0));
+                AnnotationMirror initAfter = mirror(method, INIT_AFTER);
+                if (initAfter != null) {
+                    addLifecycleMethod(type, method, INIT_AFTER, Boolean.TRUE.equals(value(initAfter, "async")) ? lifecycle.get(2) : lifecycle.get(1));
+                }
+                addLifecycleMethod(type, method, DESTROY, lifecycle.get(3));
+                addLifecycleMethod(type, method, RESET, lifecycle.get(4));
+            }
+            if (!complete) {
+                return null;
+            }
+            StringJoiner arguments = new StringJoiner(",\n                ", "new BeanMetadata(" + constructorPoint + ",\n                ", ")");
+            arguments.add(list(fieldPoints));
+            arguments.add(list(methodPoints));
+            for (List<String> methods : lifecycle) {
+                arguments.add(list(methods));
+            }
+            return arguments.toString();
+        }
+
+        /**
+         * 构造器注入点：可直接构造时与组件定义共用构造代码，构造器不可访问时按参数类型定位；参数类型无法引用时返回 null
+         */
+        private String constructorInjectionPoint(TypeElement type, ExecutableElement constructor) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            TypeMirror[] parameterTypes = new TypeMirror[parameters.size()];
+            boolean[] lazy = new boolean[parameters.size()];
+            boolean lazyAll = mirror(constructor, LAZY) != null;
+            for (int i = 0; i < parameters.size(); i++) {
+                parameterTypes[i] = types.erasure(parameters.get(i).asType());
+                lazy[i] = lazyAll || mirror(parameters.get(i), LAZY) != null;
+                if (!isTypeAccessible(parameterTypes[i])) {
+                    return null;
+                }
+            }
+            String invoker = constructorInvoker(type, constructor);
+            if (invoker == null) {
+                StringBuilder lookup = new StringBuilder("new InjectionPoint(WiringSupport.constructor(").append(typeName(type)).append(".class");
+                for (TypeMirror parameterType : parameterTypes) {
+                    lookup.append(", ").append(typeLiteral(parameterType)).append(".class");
+                }
+                return lookup.append("))").toString();
+            }
+            return injectionPoint(mirror(constructor, AUTOWIRED), declaredTypes(parameters), lazy, () -> invoker);
+        }
+
+        private String methodInjectionPoint(TypeElement type, ExecutableElement method, AnnotationMirror autowired) {
+            List<? extends VariableElement> parameters = method.getParameters();
+            TypeMirror[] parameterTypes = new TypeMirror[parameters.size()];
+            boolean[] lazy = new boolean[parameters.size()];
+            boolean lazyAll = mirror(method, LAZY) != null;
+            for (int i = 0; i < parameters.size(); i++) {
+                parameterTypes[i] = types.erasure(parameters.get(i).asType());
+                lazy[i] = lazyAll || mirror(parameters.get(i), LAZY) != null;
+                if (!isTypeAccessible(parameterTypes[i])) {
+                    return null;
+                }
+            }
+            if (!isAccessibleMember(method, type)) {
+                StringBuilder lookup = new StringBuilder("new InjectionPoint(WiringSupport.method(")
+                        .append(typeName(type)).append(".class, ").append(literal(method.getSimpleName().toString()));
+                for (TypeMirror parameterType : parameterTypes) {
+                    lookup.append(", ").append(typeLiteral(parameterType)).append(".class");
+                }
+                return lookup.append("))").toString();
+            }
+            boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+            StringJoiner call = new StringJoiner(", ", (isStatic ? typeName(type) : "((" + typeName(type) + ") target)") + "." + method.getSimpleName() + "(", ");");
+            for (int i = 0; i < parameterTypes.length; i++) {
+                call.add("(" + typeLiteral(parameterTypes[i]) + ") args[" + i + "]");
+            }
+            return injectionPoint(autowired, declaredTypes(parameters), lazy, () -> invoker(call + "\n                    return null;"));
+        }
+
+        private void addLifecycleMethod(TypeElement type, ExecutableElement method, String annotation, List<String> methods) {
+            if (mirror(method, annotation) == null) {
+                return;
+            }
+            if (!method.getParameters().isEmpty()) {
+                report(Diagnostic.Kind.ERROR, method, "Methods annotated with @" + annotation.substring(ANNOTATION_PACKAGE.length()) + " must not have parameters");
+                return;
+            }
+            methods.add("WiringSupport.method(" + typeName(type) + ".class, " + literal(method.getSimpleName().toString()) + ")");
+        }
+
+        /**
+         * @param declaredTypes 带泛型参数的声明类型，集合、Map、Optional 依赖需要从中取出元素类型
+         * @param invoker 只在能生成注入点时才创建分支
+         * @return 元素类型无法在生成代码中引用时返回 null
+         */
+        private String injectionPoint(AnnotationMirror autowired, TypeMirror[] declaredTypes, boolean[] lazy, Supplier<String> invoker) {
+            StringJoiner typeLiterals = new StringJoiner(", ", "new Class<?>[]{", "}");
+            StringJoiner kinds = new StringJoiner(", ", "new DependencyKindEnum[]{", "}");
+            StringJoiner elementTypes = new StringJoiner(", ", "new Class<?>[]{", "}");
+            StringJoiner lazyFlags = new StringJoiner(", ", "new boolean[]{", "}");
+            boolean single = true;
+            for (int i = 0; i < declaredTypes.length; i++) {
+                TypeMirror dependencyType = types.erasure(declaredTypes[i]);
+                String kind = dependencyKind(dependencyType);
+                TypeMirror elementType = "SINGLE".equals(kind) ? dependencyType : elementType(declaredTypes[i], kind);
+                if (elementType == null) {
+                    // 与运行时一致：无法确定元素类型时按单个 bean 注入
+                    kind = "SINGLE";
+                    elementType = dependencyType;
+                }
+                if (!isTypeAccessible(elementType)) {
+                    return null;
+                }
+                single &= "SINGLE".equals(kind);
+                typeLiterals.add(typeLiteral(dependencyType) + ".class");
+                kinds.add("DependencyKindEnum." + kind);
+                elementTypes.add(typeLiteral(elementType) + ".class");
+                lazyFlags.add(String.valueOf(lazy[i]));
+            }
+            String prefix = "new InjectionPoint(" + literal((String) value(autowired, "name")) + ", ScopeEnum." + scope(autowired) + ", " + typeLiterals + ", ";
+            if (single) {
+                return prefix + lazyFlags + ", " + invoker.get() + ")";
+            }
+            return prefix + kinds + ", " + elementTypes + ", " + lazyFlags + ", " + invoker.get() + ")";
+        }
+
+        private TypeMirror[] declaredTypes(List<? extends VariableElement> parameters) {
+            TypeMirror[] declaredTypes = new TypeMirror[parameters.size()];
+            for (int i = 0; i < declaredTypes.length; i++) {
+                declaredTypes[i] = parameters.get(i).asType();
+            }
+            return declaredTypes;
+        }
+
+        private String scope(AnnotationMirror autowired) {
+            String scope = ((VariableElement) value(autowired, "scope")).getSimpleName().toString();
+            if (!"DEFAULT".equals(scope)) {
+                return scope;
+            }
+            return Boolean.TRUE.equals(value(autowired, "singleton")) ? "SINGLETON" : "PROTOTYPE";
+        }
+
+        private void checkDependencies(ExecutableElement executable, List<? extends VariableElement> parameters) {
+            AnnotationMirror autowired = mirror(executable, AUTOWIRED);
+            for (VariableElement parameter : parameters) {
+                checkDependency(parameter, parameter.asType(), autowired);
+            }
+        }
+
+        /**
+         * 与运行时相同的解析规则：指定名称时按名称，接口按类型索引，具体类按类名首字母小写
+         */
+        private void checkDependency(Element element, TypeMirror dependencyType, AnnotationMirror autowired) {
+            String name = (String) value(autowired, "name");
+            TypeMirror type = types.erasure(dependencyType);
+            String kind = dependencyKind(type);
+            if (!"SINGLE".equals(kind) && elementType(dependencyType, kind) != null) {
+                // 集合依赖收集全部候选，没有候选时为空集合，不存在缺失或歧义
+                return;
+            }
+            if (!name.isEmpty()) {
+                if (!beans.containsKey(name)) {
+                    report(Diagnostic.Kind.WARNING, element, "No bean named '" + name + "' is visible to " + config.getQualifiedName());
+                }
+                return;
+            }
+            Element typeElement = types.asElement(type);
+            if (typeElement != null && typeElement.getKind() == ElementKind.INTERFACE) {
+                List<String> candidates = new ArrayList<>();
+                beans.forEach((beanName, beanType) -> {
+                    if (types.isAssignable(types.erasure(beanType), type)) {
+                        candidates.add(beanName);
+                    }
+                });
+                if (candidates.size() > 1) {
+                    report(Diagnostic.Kind.ERROR, element, type + " has multiple implementations " + candidates
+                            + ", use the name attribute of @Autowired to choose one");
+                } else if (candidates.isEmpty()) {
+                    report(Diagnostic.Kind.WARNING, element, "No implementation of " + type + " is visible to " + config.getQualifiedName());
+                }
+                return;
+            }
+            String beanName = Introspector.decapitalize(simpleName(type));
+            if (!beans.containsKey(beanName)) {
+                report(Diagnostic.Kind.WARNING, element, "No bean named '" + beanName + "' is visible to " + config.getQualifiedName());
+            }
+        }
+
+        private String invoker(String body) {
+            cases.add(body);
+            return "new Invoker(" + (cases.size() - 1) + ")";
+        }
+
+        private void write(List<String> scanPackages) {
+            String binaryName = elements.getBinaryName(config).toString();
+            String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + GeneratedWiring.SUFFIX;
+            StringBuilder source = new StringBuilder();
+            if (!packageName.isEmpty()) {
+                source.append("package ").append(packageName).append(";\n\n");
+            }
+            source.append("import io.github.programmerchenyu.beans.BeanDefinition;\n")
+                    .append("import io.github.programmerchenyu.beans.BeanMetadata;\n")
+                    .append("import io.github.programmerchenyu.beans.InjectionPoint;\n")
+                    .append("import io.github.programmerchenyu.beans.accessor.MemberInvoker;\n")
+                    .append("import io.github.programmerchenyu.beans.factory.aot.GeneratedWiring;\n")
+                    .append("import io.github.programmerchenyu.beans.factory.aot.WiringSupport;\n")
+                    .append("import io.github.programmerchenyu.enums.dependency.DependencyKindEnum;\n")
+                    .append("import io.github.programmerchenyu.enums.scope.ScopeEnum;\n\n")
+                    .append("import java.util.Arrays;\n")
+                    .append("import java.util.Map;\n")
+                    .append("import java.util.function.Supplier;\n\n")
+                    .append("/**\n * generated by test-nexus for {@link ").append(typeName(config)).append("}, do not edit\n */\n")
+                    .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                    .append("public final class ").append(simpleName).append(" implements GeneratedWiring {\n\n");
+            StringJoiner packages = new StringJoiner(", ", "{", "}");
+            for (String scanPackage : scanPackages) {
+                packages.add(literal(scanPackage));
+            }
+            source.append("    private static final String[] SCAN_PACKAGES = ").append(packages).append(";\n\n")
+                    .append("    @Override\n")
+                    .append("    public String[] getScanPackages() {\n")
+                    .append("        return SCAN_PACKAGES.clone();\n")
+                    .append("    }\n\n")
+                    .append("    @Override\n")
+                    .append("    public void registerBeanDefinitions(Map<String, BeanDefinition> beanDefinitions) {\n");
+            int registerMethods = (statements.size() + STATEMENTS_PER_METHOD - 1) / STATEMENTS_PER_METHOD;
+            for (int i = 0; i < registerMethods; i++) {
+                source.append("        register").append(i).append("(beanDefinitions);\n");
+            }
+            source.append("    }\n");
+            for (int i = 0; i < registerMethods; i++) {
+                source.append("\n    private static void register").append(i).append("(Map<String, BeanDefinition> beanDefinitions) {\n");
+                for (String statement : statements.subList(i * STATEMENTS_PER_METHOD, Math.min(statements.size(), (i + 1) * STATEMENTS_PER_METHOD))) {
+                    source.append("        ").append(statement).append('\n');
+                }
+                source.append("    }\n");
+            }
+            writeInvoker(source);
+            writeMetadata(source);
+            source.append("}\n");
+            try (Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, config).openWriter()) {
+                writer.write(source.toString());
+            } catch (IOException e) {
+                report(Diagnostic.Kind.ERROR, config, "Unable to write generated wiring: " + e.getMessage());
+            }
+        }
+
+        private void writeInvoker(StringBuilder source) {
+            source.append("\n    /**\n     * 按编号分派到具体的构造、注入和工厂方法调用\n     */\n")
+                    .append("    private static final class Invoker implements MemberInvoker {\n\n")
+                    .append("        private final int id;\n\n")
+                    .append("        Invoker(int id) {\n")
+                    .append("            this.id = id;\n")
+                    .append("        }\n\n")
+                    .append("        @Override\n")
+                    .append("        public Object invoke(Object target, Object[] args) throws Throwable {\n");
+            writeDispatch(source, cases, "invoke", "Object target, Object[] args", "target, args", "Object");
+            source.append("    }\n");
+        }
+
+        private void writeMetadata(StringBuilder source) {
+            source.append("\n    /**\n     * 按编号构建组件的注入与生命周期元数据\n     */\n")
+                    .append("    private static final class Metadata implements Supplier<BeanMetadata> {\n\n")
+                    .append("        private final int id;\n\n")
+                    .append("        Metadata(int id) {\n")
+                    .append("            this.id = id;\n")
+                    .append("        }\n\n")
+                    .append("        @Override\n")
+                    .append("        public BeanMetadata get() {\n");
+            List<String> bodies = new ArrayList<>();
+            for (String metadata : metadataFactories) {
+                bodies.add("return " + metadata + ";");
+            }
+            writeDispatch(source, bodies, "get", "", "", "BeanMetadata");
+            source.append("    }\n");
+        }
+
+        /**
+         * 先按编号所在的分段分派到子方法，再在子方法中按编号分派，单个方法的分支数不超过 {@link #CASES_PER_METHOD}
+         */
+        private void writeDispatch(StringBuilder source, List<String> bodies, String name, String parameters, String arguments, String returnType) {
+            int methods = (bodies.size() + CASES_PER_METHOD - 1) / CASES_PER_METHOD;
+            source.append("            switch (id / ").append(CASES_PER_METHOD).append(") {\n");
+            for (int i = 0; i < methods; i++) {
+                source.append("                case ").append(i).append(":\n")
+                        .append("                    return ").append(name).append(i).append('(').append(arguments).append(");\n");
+            }
+            source.append("                default:\n")
+                    .append("                    throw new IllegalStateException(\"Unknown member \" + id);\n")
+                    .append("            }\n")
+                    .append("        }\n");
+            for (int i = 0; i < methods; i++) {
+                source.append("\n        private ").append(returnType).append(' ').append(name).append(i).append('(').append(parameters).append(")")
+                        .append("Object".equals(returnType) ? " throws Throwable" : "").append(" {\n")
+                        .append("            switch (id) {\n");
+                for (int id = i * CASES_PER_METHOD; id < Math.min(bodies.size(), (i + 1) * CASES_PER_METHOD); id++) {
+                    source.append("                case ").append(id).append(":\n")
+                            .append("                    ").append(bodies.get(id)).append('\n');
+                }
+                source.append("                default:\n")
+                        .append("                    throw new IllegalStateException(\"Unknown member \" + id);\n")
+                        .append("            }\n")
+                        .append("        }\n");
+            }
+        }
+
+        /**
+         * 生成类与配置类在同一个包中，类型链上的每一层都是 public 或同包非 private 时才能直接引用
+         */
+        private boolean isAccessible(TypeElement type) {
+            Element current = type;
+            while (current instanceof TypeElement) {
+                Set<Modifier> modifiers = current.getModifiers();
+                if (modifiers.contains(Modifier.PRIVATE) || (!modifiers.contains(Modifier.PUBLIC) && !isSamePackage(current))) {
+                    return false;
+                }
+                if (((TypeElement) current).getNestingKind() == NestingKind.TOP_LEVEL) {
+                    return true;
+                }
+                current = current.getEnclosingElement();
+            }
+            return false;
+        }
+
+        private String dependencyKind(TypeMirror erasedType) {
+            return DEPENDENCY_KINDS.getOrDefault(erasedType.toString(), "SINGLE");
+        }
+
+        /**
+         * 与运行时相同：List、Set、Collection、Optional 取第一个泛型参数，Map 的键必须为 String 并取值类型，通配符取上界；
+         * 无法确定时返回 null
+         */
+        private TypeMirror elementType(TypeMirror declaredType, String kind) {
+            if (declaredType.getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+            List<? extends TypeMirror> arguments = ((DeclaredType) declaredType).getTypeArguments();
+            boolean map = "MAP".equals(kind);
+            if (arguments.size() != (map ? 2 : 1)) {
+                return null;
+            }
+            if (map && !"java.lang.String".equals(types.erasure(arguments.get(0)).toString())) {
+                return null;
+            }
+            TypeMirror argument = arguments.get(map ? 1 : 0);
+            if (argument.getKind() == TypeKind.WILDCARD) {
+                argument = ((WildcardType) argument).getExtendsBound();
+            }
+            if (argument == null || argument.getKind() != TypeKind.DECLARED || "java.lang.Object".equals(types.erasure(argument).toString())) {
+                return null;
+            }
+            return types.erasure(argument);
+        }
+
+        private boolean isAccessibleMember(Element member, TypeElement owner) {
+            Set<Modifier> modifiers = member.getModifiers();
+            return isAccessible(owner) && !modifiers.contains(Modifier.PRIVATE) && (modifiers.contains(Modifier.PUBLIC) || isSamePackage(owner));
+        }
+
+        private boolean isTypeAccessible(TypeMirror type) {
+            if (type.getKind().isPrimitive()) {
+                return true;
+            }
+            if (type.getKind() == TypeKind.ARRAY) {
+                return isTypeAccessible(((ArrayType) type).getComponentType());
+            }
+            return type.getKind() == TypeKind.DECLARED && isAccessible((TypeElement) ((DeclaredType) type).asElement());
+        }
+
+        private boolean isSamePackage(Element element) {
+            return elements.getPackageOf(element).getQualifiedName().contentEquals(packageName);
+        }
+
+        private boolean isInnerClass(TypeElement type) {
+            return type.getNestingKind() != NestingKind.TOP_LEVEL && !type.getModifiers().contains(Modifier.STATIC);
+        }
+
+        private String list(List<String> items) {
+            if (items.isEmpty()) {
+                return "Arrays.asList()";
+            }
+            StringJoiner joiner = new StringJoiner(",\n                        ", "Arrays.asList(\n                        ", ")");
+            items.forEach(joiner::add);
+            return joiner.toString();
+        }
+    }
+
+    private AnnotationMirror mirror(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private List<String> stringValues(AnnotationMirror mirror, String name) {
+        List<String> values = new ArrayList<>();
+        if (mirror != null) {
+            for (Object value : (List<?>) value(mirror, name)) {
+                values.add((String) ((AnnotationValue) value).getValue());
+            }
+        }
+        return values;
+    }
+
+    private String typeName(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private String typeLiteral(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return typeLiteral(((ArrayType) type).getComponentType()) + "[]";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return typeName((TypeElement) ((DeclaredType) type).asElement());
+        }
+        return type.toString();
+    }
+
+    /**
+     * 与 Class#getSimpleName 一致的简单类名
+     */
+    private String simpleName(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return simpleName(((ArrayType) type).getComponentType()) + "[]";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType) type).asElement().getSimpleName().toString();
+        }
+        return type.toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private void report(Diagnostic.Kind kind, Element element, String message) {
+        if (reportedMessages.add(kind + " " + element.getEnclosingElement() + "." + element + " " + message)) {
+            processingEnv.getMessager().printMessage(kind, message, element);
+        }
+    }
+}
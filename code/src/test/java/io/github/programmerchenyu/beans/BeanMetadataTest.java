@@ -0,0 +1,66 @@
+package io.github.programmerchenyu.beans;
+
+import io.github.programmerchenyu.beans.accessor.MemberInvoker;
+import io.github.programmerchenyu.beans.factory.annotation.Autowired;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author 爱吃小鱼的橙子
+ */
+public class BeanMetadataTest {
+
+    private static final String TEMPLATE_NAME = "io.github.programmerchenyu.beans.accessor.MethodHandleInvoker";
+
+    @Test
+    public void nonPublicInjectionMethodsGetCompiledInvokers() throws Throwable {
+        BeanMetadata metadata = BeanMetadata.forClass(MethodInjected.class);
+        Assert.assertEquals(metadata.getMethodInjectionPoints().size(), 2);
+        MethodInjected target = new MethodInjected();
+        for (InjectionPoint injectionPoint : metadata.getMethodInjectionPoints()) {
+            Assert.assertTrue(isCompiled(injectionPoint.getInvoker()), injectionPoint.getMember().toString());
+            injectionPoint.getInvoker().invoke(target, new Object[]{"value"});
+        }
+        Assert.assertEquals(target.privateValue, "value");
+        Assert.assertEquals(target.packageValue, "value");
+    }
+
+    @Test
+    public void nonPublicFieldsAndConstructorsGetCompiledInvokers() {
+        BeanMetadata metadata = BeanMetadata.forClass(ConstructorInjected.class);
+        Assert.assertTrue(isCompiled(metadata.getConstructorInjectionPoint().getInvoker()));
+        Assert.assertTrue(isCompiled(metadata.getFieldInjectionPoints().get(0).getInvoker()));
+    }
+
+    /**
+     * 编译后的访问器是以模板定义的隐藏类；退回反射时的 lambda 同样是隐藏类，只能按类名区分
+     */
+    private static boolean isCompiled(MemberInvoker invoker) {
+        return invoker.getClass().getName().startsWith(TEMPLATE_NAME + "/");
+    }
+
+    static class MethodInjected {
+        String privateValue;
+        String packageValue;
+
+        @Autowired
+        private void setPrivateValue(String value) {
+            this.privateValue = value;
+        }
+
+        @Autowired
+        void setPackageValue(String value) {
+            this.packageValue = value;
+        }
+    }
+
+    static class ConstructorInjected {
+        @Autowired
+        private String value;
+
+        @Autowired
+        private ConstructorInjected(String value) {
+            this.value = value;
+        }
+    }
+}
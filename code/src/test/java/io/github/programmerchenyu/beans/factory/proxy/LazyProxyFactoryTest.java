@@ -0,0 +1,166 @@
+package io.github.programmerchenyu.beans.factory.proxy;
+
+import io.github.programmerchenyu.beans.factory.proxy.fixture.PackagePrivateBase;
+import io.github.programmerchenyu.beans.factory.proxy.fixture.PackagePrivateInterface;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 爱吃小鱼的橙子
+ */
+public class LazyProxyFactoryTest {
+
+    @Test
+    public void interfaceProxyResolvesTargetOnFirstCall() {
+        AtomicInteger resolved = new AtomicInteger();
+        Greeter proxy = (Greeter) LazyProxyFactory.createProxy(Greeter.class, () -> {
+            resolved.incrementAndGet();
+            return (Greeter) () -> "hi";
+        });
+        Assert.assertEquals(resolved.get(), 0);
+        Assert.assertEquals(proxy.greet(), "hi");
+        Assert.assertEquals(proxy.greet(), "hi");
+        Assert.assertEquals(resolved.get(), 1);
+    }
+
+    @Test
+    public void interfaceProxyForwardsPackagePrivateInterface() {
+        AtomicInteger resolved = new AtomicInteger();
+        Object proxy = LazyProxyFactory.createProxy(PackagePrivateInterface.type(), () -> {
+            resolved.incrementAndGet();
+            return PackagePrivateInterface.newTarget("hidden");
+        });
+        Assert.assertTrue(LazyProxyFactory.isProxyable(PackagePrivateInterface.type()));
+        Assert.assertEquals(resolved.get(), 0);
+        Assert.assertEquals(PackagePrivateInterface.greet(proxy), "hidden");
+        Assert.assertEquals(PackagePrivateInterface.greet(proxy), "hidden");
+        Assert.assertEquals(resolved.get(), 1);
+    }
+
+    @Test
+    public void classProxyForwardsEveryMethodToTarget() {
+        Counter target = new Counter();
+        AtomicInteger resolved = new AtomicInteger();
+        Counter proxy = (Counter) LazyProxyFactory.createProxy(Counter.class, () -> {
+            resolved.incrementAndGet();
+            return target;
+        });
+        Assert.assertNotSame(proxy.getClass(), Counter.class);
+        Assert.assertEquals(resolved.get(), 0);
+        Assert.assertEquals(proxy.increment(2L), 2L);
+        Assert.assertEquals(proxy.add(1, 2L, 3.0), 6.0);
+        Assert.assertEquals(proxy.packageCount(), 2L);
+        Assert.assertEquals(proxy.protectedCount(), 2L);
+        Assert.assertEquals(proxy.inherited(), "base");
+        Assert.assertEquals(proxy.toString(), target.toString());
+        Assert.assertEquals(target.count, 2L);
+        Assert.assertEquals(resolved.get(), 1);
+    }
+
+    @Test
+    public void scopedProxyResolvesTargetOnEveryCall() {
+        AtomicInteger resolved = new AtomicInteger();
+        Counter proxy = (Counter) LazyProxyFactory.createScopedProxy(Counter.class, () -> {
+            resolved.incrementAndGet();
+            return new Counter();
+        });
+        Assert.assertEquals(proxy.increment(1L), 1L);
+        Assert.assertEquals(proxy.increment(1L), 1L);
+        Assert.assertEquals(resolved.get(), 2);
+    }
+
+    @Test
+    public void rejectsClassesThatCannotBeFullyForwarded() {
+        Assert.assertFalse(LazyProxyFactory.isProxyable(WithFinalMethod.class));
+        Assert.assertFalse(LazyProxyFactory.isProxyable(WithPrivateConstructor.class));
+        Assert.assertFalse(LazyProxyFactory.isProxyable(WithoutNoArgConstructor.class));
+        Assert.assertFalse(LazyProxyFactory.isProxyable(CrossPackageSubclass.class));
+        Assert.assertFalse(LazyProxyFactory.isProxyable(FinalClass.class));
+        Assert.assertFalse(LazyProxyFactory.isProxyable(ArrayList.class));
+        Assert.assertFalse(LazyProxyFactory.isProxyable(int.class));
+    }
+
+    @Test
+    public void acceptsInterfacesAndForwardableClasses() {
+        Assert.assertTrue(LazyProxyFactory.isProxyable(Greeter.class));
+        Assert.assertTrue(LazyProxyFactory.isProxyable(Counter.class));
+        Assert.assertTrue(LazyProxyFactory.isProxyable(PackagePrivateConstructor.class));
+    }
+
+    public interface Greeter {
+        String greet();
+    }
+
+    public static class Base {
+        public String inherited() {
+            return "base";
+        }
+    }
+
+    public static class Counter extends Base {
+        long count;
+
+        public long increment(long delta) {
+            count += delta;
+            return count;
+        }
+
+        public double add(int a, long b, double c) {
+            return a + b + c;
+        }
+
+        long packageCount() {
+            return count;
+        }
+
+        protected long protectedCount() {
+            return count;
+        }
+    }
+
+    public static class WithFinalMethod {
+        private final String name = "target";
+
+        public final String name() {
+            return name;
+        }
+    }
+
+    public static class WithPrivateConstructor {
+        private WithPrivateConstructor() {
+        }
+
+        public String name() {
+            return "target";
+        }
+    }
+
+    public static class WithoutNoArgConstructor {
+        private final String name;
+
+        public WithoutNoArgConstructor(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+    }
+
+    public static class CrossPackageSubclass extends PackagePrivateBase {
+        public String name() {
+            return "target";
+        }
+    }
+
+    public static final class FinalClass {
+    }
+
+    public static class PackagePrivateConstructor {
+        PackagePrivateConstructor() {
+        }
+    }
+}
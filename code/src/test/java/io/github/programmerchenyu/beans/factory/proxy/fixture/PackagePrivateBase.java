@@ -0,0 +1,14 @@
+package io.github.programmerchenyu.beans.factory.proxy.fixture;
+
+/**
+ * 含有包级方法的父类，位于与子类不同的包中
+ * @author 爱吃小鱼的橙子
+ */
+public class PackagePrivateBase {
+
+    private String state = "initialized";
+
+    String packageState() {
+        return state;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.programmerchenyu.beans.factory.proxy.fixture;
+
+/**
+ * 包级接口及其实现，位于与代理工厂不同的包中，测试只能通过本类访问
+ * @author 爱吃小鱼的橙子
+ */
+public final class PackagePrivateInterface {
+
+    private PackagePrivateInterface() {
+    }
+
+    public static Class<?> type() {
+        return Greeter.class;
+    }
+
+    public static Object newTarget(String greeting) {
+        return (Greeter) () -> greeting;
+    }
+
+    public static String greet(Object greeter) {
+        return ((Greeter) greeter).greet();
+    }
+
+    interface Greeter {
+        String greet();
+    }
+}